@@ -0,0 +1,127 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * The boards, racks and words the benchmarks run on. Everything is
+ * made from a fixed seed, so every run (and every fork) times the
+ * same work, and runs from different builds can be compared.
+ *
+ * A board part way through a game is made by letting the engine
+ * play itself for a few turns, each time playing its best move and
+ * drawing from the same shuffled bag. That gives a realistic spread
+ * of anchors and cross-checks to search, which an empty board (one
+ * anchor) doesn't.
+ *
+ * File names are relative to the directory above ScrabbleBot, like
+ * the ones in Runner, so run the benchmarks from there.
+ */
+final class BenchFixtures
+{
+	/**
+	 * The boards there are layouts for. Each one is in
+	 * "ScrabbleBot/<name> Board.txt".
+	 */
+	static final String DEFAULT = "Default";
+	static final String WORDS_WITH_FRIENDS = "Words With Friends";
+	static final String LIGHTNING_ROUND = "Lightning Round";
+	static final String SHREK = "Shrek";
+
+	static final long SEED = 2019L;
+
+	private BenchFixtures()
+	{
+	}
+
+	static Lexicon lexicon()
+	{
+		return Lexicon.load(Runner.DICTIONARY_FILE_NAME);
+	}
+
+	static Layout layout(String board)
+	{
+		return Layout.load(new File("ScrabbleBot/" + board + " Board.txt"));
+	}
+
+	/**
+	 * Words With Friends has its own letter values and tiles;
+	 * every other board uses the standard ones.
+	 */
+	static int[] letterValues(String board)
+	{
+		return Engine.readLetterValues(board.equals(WORDS_WITH_FRIENDS) ?
+				"ScrabbleBot/Words With Friends Letter Points.txt" :
+				"ScrabbleBot/Letter Points.txt");
+	}
+
+	static String tiles(String board)
+	{
+		return TileBag.readTiles(board.equals(WORDS_WITH_FRIENDS) ?
+				"ScrabbleBot/Words With Friends Letter Amounts.txt" :
+				"ScrabbleBot/Letter Amounts.txt");
+	}
+
+	/**
+	 * Plays the engine against itself for some turns and returns
+	 * the board it ends up with. Fewer turns are played if the bag
+	 * runs out or there's nothing left to play.
+	 */
+	static Grid game(Engine engine, Layout layout, String tiles, int turns, long seed)
+	{
+		TileBag bag = new TileBag(tiles, new Random(seed));
+
+		Grid grid = new Grid(layout);
+		Rack rack = new Rack();
+		for (int turn = 0; turn < turns; turn++)
+		{
+			bag.fill(rack);
+			Move[] moves = engine.findMoves(grid, rack, 1);
+			if (moves.length == 0)
+			{
+				break;
+			}
+			rack.remove(grid, moves[0]);
+			grid = grid.play(moves[0]);
+		}
+		return grid;
+	}
+
+	/**
+	 * Some full racks, each drawn from its own freshly shuffled bag.
+	 */
+	static Rack[] racks(String tiles, int count, long seed)
+	{
+		Random random = new Random(seed);
+		Rack[] racks = new Rack[count];
+		for (int k = 0; k < count; k++)
+		{
+			racks[k] = new Rack();
+			new TileBag(tiles, random).fill(racks[k]);
+		}
+		return racks;
+	}
+
+	/**
+	 * Words to look up: half of them out of the word list, the
+	 * other half the same words with one letter changed, which
+	 * mostly aren't words and fall out of the DAWG part way down.
+	 */
+	static String[] queries(ArrayList<String> words, int count, long seed)
+	{
+		Random random = new Random(seed);
+		String[] queries = new String[count];
+		for (int k = 0; k < count; k++)
+		{
+			String word = words.get(random.nextInt(words.size()));
+			if (k % 2 == 1)
+			{
+				char[] letters = word.toCharArray();
+				letters[random.nextInt(letters.length)] =
+						Runner.ALPHABET[random.nextInt(Runner.ALPHABET.length)];
+				word = new String(letters);
+			}
+			queries[k] = word;
+		}
+		return queries;
+	}
+}
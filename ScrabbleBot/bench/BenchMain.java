@@ -0,0 +1,36 @@
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes the results out as JSON, so runs
+ * can be kept and compared (for example with JMH Visualizer).
+ *
+ * The benchmarks need JMH (jmh-core, and jmh-generator-annprocess
+ * as an annotation processor when compiling), which isn't part of
+ * the project. bench/build.sh compiles src and bench together with
+ * the JMH jars, and runs this from the directory above ScrabbleBot:
+ *
+ *   ScrabbleBot/bench/build.sh run [results file] [benchmarks]
+ *
+ * Usage: BenchMain [results file] [benchmarks to run, as a regex]
+ */
+public class BenchMain
+{
+	public static void main(String[] args) throws RunnerException
+	{
+		String results = args.length > 0 ? args[0] : "bench-results.json";
+		String include = args.length > 1 ? args[1] : ".*Benchmark";
+
+		Options options = new OptionsBuilder()
+				.include(include)
+				.forks(1)
+				.resultFormat(ResultFormatType.JSON)
+				.result(results)
+				.build();
+
+		// Not this project's Runner.
+		new org.openjdk.jmh.runner.Runner(options).run();
+	}
+}
@@ -0,0 +1,88 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * How long the engine takes to find the moves for a rack, on each
+ * board, on an empty board and part way through a game. Every call
+ * goes through the same racks, so the time is per rack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GenerationBenchmark
+{
+	private static final int RACKS = 16;
+
+	@Param({BenchFixtures.DEFAULT, BenchFixtures.WORDS_WITH_FRIENDS,
+			BenchFixtures.LIGHTNING_ROUND, BenchFixtures.SHREK})
+	public String board;
+
+	/**
+	 * How many turns have been played on the board. 0 is an empty
+	 * board, with only the start space to build from.
+	 */
+	@Param({"0", "8"})
+	public int turns;
+
+	/**
+	 * Whether the search is split up over the common pool, like the
+	 * Robot does, or runs on the benchmark's thread.
+	 */
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	private Engine engine;
+
+	private Grid grid;
+
+	private Rack[] racks;
+
+	@Setup
+	public void setUp()
+	{
+		engine = new Engine(BenchFixtures.lexicon(),
+				BenchFixtures.letterValues(board),
+				parallel ? ForkJoinPool.commonPool() : null);
+		String tiles = BenchFixtures.tiles(board);
+		grid = BenchFixtures.game(engine, BenchFixtures.layout(board),
+				tiles, turns, BenchFixtures.SEED);
+		racks = BenchFixtures.racks(tiles, RACKS, BenchFixtures.SEED + 1);
+	}
+
+	/**
+	 * Every move, all scored and sorted.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(RACKS)
+	public void allMoves(Blackhole blackhole)
+	{
+		for (Rack rack : racks)
+		{
+			blackhole.consume(engine.findMoves(grid, rack));
+		}
+	}
+
+	/**
+	 * Only the moves the Robot keeps.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(RACKS)
+	public void bestMoves(Blackhole blackhole)
+	{
+		for (Rack rack : racks)
+		{
+			blackhole.consume(engine.findMoves(grid, rack, Runner.MOVES_TO_KEEP));
+		}
+	}
+}
@@ -0,0 +1,131 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * How long the lexicon takes to load, both ways (building it out of
+ * the word list, and mapping a compiled one), and how fast words
+ * can be looked up in the dictionary once it's loaded.
+ */
+@State(Scope.Benchmark)
+public class LexiconBenchmark
+{
+	/**
+	 * How many words each contains() call looks up.
+	 */
+	private static final int QUERIES = 4096;
+
+	private File image;
+
+	/**
+	 * The dictionary out of the compiled lexicon, which is the one
+	 * the game uses whenever there is one.
+	 */
+	private Trie dictionary;
+
+	private String[] queries;
+
+	/**
+	 * The same queries in alphabetical order, the way a word list
+	 * would be checked.
+	 */
+	private List<String> sortedQueries;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		ArrayList<String> words = Trie.readWords(Runner.DICTIONARY_FILE_NAME);
+
+		image = File.createTempFile("bench", Lexicon.IMAGE_EXTENSION);
+		new Lexicon(words).save(image);
+
+		dictionary = Lexicon.map(image).getDictionary();
+		queries = BenchFixtures.queries(words, QUERIES, BenchFixtures.SEED);
+		String[] sorted = queries.clone();
+		Arrays.sort(sorted);
+		sortedQueries = Arrays.asList(sorted);
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		image.delete();
+	}
+
+	/**
+	 * Reading, sorting and building the DAWG and GADDAG out of the
+	 * word list, which is what happens without a compiled lexicon.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 2)
+	@Measurement(iterations = 5)
+	public Lexicon buildFromWordList()
+	{
+		return new Lexicon(Trie.readWords(Runner.DICTIONARY_FILE_NAME));
+	}
+
+	/**
+	 * Mapping a compiled lexicon and checking its checksum.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 5)
+	@Measurement(iterations = 20)
+	public Lexicon mapImage() throws IOException
+	{
+		return Lexicon.map(image);
+	}
+
+	/**
+	 * Words looked up per second, half of them real words.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(QUERIES)
+	public int contains()
+	{
+		int found = 0;
+		for (String query : queries)
+		{
+			if (dictionary.contains(query))
+			{
+				found++;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * The same, looked up all at once in alphabetical order (see
+	 * Trie.containsAll), so words share the walk down to the
+	 * letters they start with.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@OperationsPerInvocation(QUERIES)
+	public BitSet containsAll()
+	{
+		return dictionary.containsAll(sortedQueries);
+	}
+}
@@ -0,0 +1,99 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * How long scoring one move takes, on a board part way through a
+ * game. The moves are the ones the engine finds for a handful of
+ * racks, shuffled so long and short words are mixed together.
+ *
+ * The words are read out of one buffer, the way the move generator
+ * scores a word while it's still building it, so what's timed is
+ * the scoring the search does, without making a String for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoringBenchmark
+{
+	/**
+	 * How many moves each call scores. If the racks don't make this
+	 * many, the moves are gone through more than once.
+	 */
+	private static final int MOVES = 4096;
+
+	@Param({BenchFixtures.DEFAULT, BenchFixtures.WORDS_WITH_FRIENDS,
+			BenchFixtures.LIGHTNING_ROUND, BenchFixtures.SHREK})
+	public String board;
+
+	private Scorer scorer;
+
+	private char[] letters;
+	private boolean[] blanks;
+
+	private Move[] moves;
+
+	/**
+	 * Every move's word, one after the other. Move k's word starts
+	 * at starts[k].
+	 */
+	private char[] words;
+	private int[] starts;
+
+	@Setup
+	public void setUp()
+	{
+		int[] letterValues = BenchFixtures.letterValues(board);
+		Engine engine = new Engine(BenchFixtures.lexicon(), letterValues);
+		Layout layout = BenchFixtures.layout(board);
+		String tiles = BenchFixtures.tiles(board);
+		Grid grid = BenchFixtures.game(engine, layout, tiles, 8, BenchFixtures.SEED);
+
+		scorer = new Scorer(layout, letterValues);
+		letters = grid.getLetters();
+		blanks = grid.getBlanks();
+
+		ArrayList<Move> found = new ArrayList<>();
+		for (Rack rack : BenchFixtures.racks(tiles, 16, BenchFixtures.SEED + 1))
+		{
+			Collections.addAll(found, engine.findMoves(grid, rack));
+		}
+		Collections.shuffle(found, new Random(BenchFixtures.SEED));
+
+		moves = new Move[MOVES];
+		starts = new int[MOVES];
+		StringBuilder buffer = new StringBuilder();
+		for (int k = 0; k < MOVES; k++)
+		{
+			moves[k] = found.get(k % found.size());
+			starts[k] = buffer.length();
+			buffer.append(moves[k].word);
+		}
+		words = buffer.toString().toCharArray();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MOVES)
+	public int score()
+	{
+		int total = 0;
+		for (int k = 0; k < MOVES; k++)
+		{
+			Move move = moves[k];
+			total += scorer.score(letters, blanks, move.x, move.y, move.vertical,
+					words, starts[k], move.length(), move.blanks);
+		}
+		return total;
+	}
+}
@@ -0,0 +1,39 @@
+#!/bin/sh
+# Compiles the benchmarks, and the game they measure, against JMH,
+# and runs them if asked to. Nothing else builds bench/, so run this
+# after changing anything the benchmarks use, even if you don't run
+# them.
+#
+# JMH isn't part of the project. Put its jars in ScrabbleBot/lib
+# (ignored by git), or set JMH_CLASSPATH to them:
+#   jmh-core, jmh-generator-annprocess (1.37), jopt-simple (5.0.4)
+#   and commons-math3 (3.6.1), all on Maven Central.
+#
+# Usage: bench/build.sh [run [results file] [benchmarks, as a regex]]
+
+set -e
+cd "$(dirname "$0")/.."
+home=$(pwd)
+
+classpath=$JMH_CLASSPATH
+if [ -z "$classpath" ]; then
+	for jar in "$home"/lib/*.jar; do
+		[ -f "$jar" ] && classpath="$classpath${classpath:+:}$jar"
+	done
+fi
+if [ -z "$classpath" ]; then
+	echo "No JMH jars in $home/lib, and JMH_CLASSPATH isn't set." >&2
+	exit 1
+fi
+
+rm -rf bench-out
+mkdir bench-out
+javac -Xlint:-serial -cp "$classpath" -d bench-out src/*.java bench/*.java
+echo "Compiled the benchmarks into $home/bench-out"
+
+if [ "$1" = run ]; then
+	shift
+	# The benchmarks read the board files from the directory above.
+	cd ..
+	java -cp "$home/bench-out:$classpath" BenchMain "$@"
+fi
@@ -0,0 +1,129 @@
+import java.nio.IntBuffer;
+
+/**
+ * A word graph built by DawgBuilder. Nodes are just indices into
+ * a few flat int buffers, so walking the graph never touches more
+ * than a couple of slots per letter. The buffers either wrap arrays
+ * built in memory, or point straight into a compiled lexicon file
+ * (see Lexicon).
+ */
+public class Automaton
+{
+	/**
+	 * Returned by get() when there is no child for a letter.
+	 */
+	public static final int NONE = -1;
+
+	private static final int FINAL = DawgBuilder.FINAL;
+
+	/**
+	 * How many symbols, starting at 'A', the graph is made of.
+	 */
+	private int symbols;
+
+	/**
+	 * masks[node] has bit (c - 'A') set if the node has a child
+	 * for symbol c, and the FINAL bit set if a word ends at this
+	 * node.
+	 */
+	private IntBuffer masks;
+
+	/**
+	 * The children of a node are kept next to each other in
+	 * targets[], in order, starting at firsts[node].
+	 */
+	private IntBuffer firsts, targets;
+
+	private int root;
+
+	protected Automaton(DawgBuilder builder, int symbols)
+	{
+		this(symbols, builder.getRoot(),
+				IntBuffer.wrap(builder.getMasks()),
+				IntBuffer.wrap(builder.getFirsts()),
+				IntBuffer.wrap(builder.getTargets()));
+	}
+
+	/**
+	 * Uses a graph that has already been built, such as one read
+	 * out of a compiled lexicon.
+	 */
+	protected Automaton(int symbols, int root,
+			IntBuffer masks, IntBuffer firsts, IntBuffer targets)
+	{
+		this.symbols = symbols;
+		this.root = root;
+		this.masks = masks;
+		this.firsts = firsts;
+		this.targets = targets;
+	}
+
+	public int getRoot()
+	{
+		return root;
+	}
+
+	/**
+	 * Returns the child of the node for this symbol, or NONE if
+	 * no word continues that way.
+	 */
+	public int get(int node, char c)
+	{
+		int symbol = c - 'A';
+		if (symbol < 0 || symbol >= symbols)
+		{
+			return NONE;
+		}
+
+		int bit = 1 << symbol;
+		int mask = masks.get(node);
+		if ((mask & bit) == 0)
+		{
+			return NONE;
+		}
+		return targets.get(firsts.get(node) + Integer.bitCount(mask & (bit - 1)));
+	}
+
+	/**
+	 * Whether or not a word ends at this node.
+	 */
+	public boolean ends(int node)
+	{
+		return (masks.get(node) & FINAL) != 0;
+	}
+
+	/**
+	 * Returns a mask with bit (c - 'A') set for every symbol c
+	 * the node has a child for.
+	 */
+	public int childMask(int node)
+	{
+		return masks.get(node) & ~FINAL;
+	}
+
+	/**
+	 * Returns how many nodes the graph is made up of.
+	 */
+	public int size()
+	{
+		return masks.limit();
+	}
+
+	/**
+	 * Returns how many edges there are between the nodes.
+	 */
+	int edgeCount()
+	{
+		return targets.limit();
+	}
+
+	/**
+	 * Writes the masks, firsts and targets, one after the other.
+	 */
+	void write(IntBuffer out)
+	{
+		out.put(masks.duplicate().rewind());
+		out.put(firsts.duplicate().rewind());
+		out.put(targets.duplicate().rewind());
+	}
+}
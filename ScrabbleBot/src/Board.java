@@ -7,12 +7,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.Scanner;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -37,10 +34,10 @@ public class Board extends JPanel implements FocusListener
 	private Frame source;
 	
 	/**
-	 * Map between each letter and how many points they
-	 * are worth. 
+	 * How many points each letter is worth, 
+	 * letterValues[c - 'A']. 
 	 */
-	private HashMap<String, Integer> letterPoint; 
+	private int[] letterValues; 
 	
 	private Human human; 
 	
@@ -62,13 +59,6 @@ public class Board extends JPanel implements FocusListener
 	 */
 	private char[][] letters; 
 	
-	/**
-	 * Coordinates with the spaces JTextField[][]. 
-	 * spaces[0][0] coordinates with points[0][0]
-	 * for how much points that space is worth. 
-	 */
-	private int[][] scoreArray; 
-	
 	/**
 	 * Array keeping track of the modifiers currently
 	 * available on the board. spaces[0][0] coordinates
@@ -98,11 +88,11 @@ public class Board extends JPanel implements FocusListener
 	private HashSet<JTextField> submittedSpaces;
 	
 	/**
-	 * Anchor spaces are spaces adjacent to submitted 
-	 * spaces. The robot will place their first letter
-	 * here.  
+	 * Spaces letters were submitted on this turn, 
+	 * y * width + x. They're put on the grid once the
+	 * turn is over. 
 	 */
-	private HashSet<Point> anchorSpaces; 
+	private LinkedList<Integer> turnSpaces; 
 	
 	/**
 	 * Spaces the player/robot has put letters on, that
@@ -116,14 +106,35 @@ public class Board extends JPanel implements FocusListener
 	 */
 	private Point selectedTextFieldLocation; 
 	
+	private Point midPoint; 
+	
 	/**
-	 * If the robot places a letter somewhere where there's 
-	 * already a letter on it, then we keep track of what
-	 * that letter is. 
+	 * The size of the board and where its modifiers are. 
 	 */
-	private HashMap<Point, Character> robotTempStorage; 
+	private Layout layout; 
 	
-	private Point midPoint; 
+	/**
+	 * The letters submitted so far, for the Engine. This is
+	 * made again at the end of every turn. 
+	 */
+	private Grid grid; 
+	
+	/**
+	 * Which submitted letters are blanks. 
+	 */
+	private boolean[][] blankTiles; 
+	
+	/**
+	 * Spaces the robot has put a blank on this turn. 
+	 */
+	private HashSet<Point> robotBlanks; 
+	
+	private Scorer scorer; 
+	
+	/**
+	 * How many points the last turn's letters got. 
+	 */
+	private int lastPoints; 
 	
 	private Board(Frame source, Human human)
 	{
@@ -132,14 +143,14 @@ public class Board extends JPanel implements FocusListener
 		this.source = source;
 		this.human = human; 
 		
-		letterPoint = readLetterPointsFile(); 
+		letterValues = Engine.readLetterValues(Runner.LETTER_POINTS_FILE_NAME); 
 		turnNumber = 0; 
 		submittedSpaces = new HashSet<>(); 
 		spaceLocations = new HashMap<>(); 
 		submittedLocations = new HashSet<>(); 
-		anchorSpaces = new HashSet<>(); 
-		robotTempStorage = new HashMap<>(); 
+		turnSpaces = new LinkedList<>(); 
 		interactedSpaces = new HashSet<>(); 
+		robotBlanks = new HashSet<>(); 
 	}
 	
 	/**
@@ -151,30 +162,7 @@ public class Board extends JPanel implements FocusListener
 	 */
 	public Board(Frame source, Human human, int width, int height)
 	{
-		this(source, human); 
-		
-		// We are going to have each row be its own
-		// JPanel. We will add each of those JPanels
-		// to this central Board JPanel. 
-		spaces = new JTextField[width][height]; 
-		letters = new char[width][height];
-		scoreArray = new int[width][height]; 
-		modifierArray = new int[width][height]; 
-		
-		setLayout(new GridLayout(height, width)); 
-		
-		for (int y = 0; y < height; y++)
-		{
-			for (int x = 0; x < width; x++)
-			{
-				spaces[x][y] = createDefaultTextField(); 
-				
-				spaceLocations.put(spaces[x][y], new Point(x,y)); 
-				add(spaces[x][y]);
-			} 
-		}
-		
-		enableDocumentListener(true); 
+		this(source, human, new Layout(width, height)); 
 	}
 	
 	/**
@@ -183,50 +171,44 @@ public class Board extends JPanel implements FocusListener
 	 * @param source The Frame that's trying to use this
 	 * panel. 
 	 * @param data The pre-made board with space modifiers. 
-	 * @throws Exception 
 	 */
 	public Board(Frame source, Human human, File data)
+	{
+		this(source, human, Layout.load(data)); 
+	}
+	
+	private Board(Frame source, Human human, Layout layout)
 	{
 		this(source, human); 
+		this.layout = layout; 
 		
-		Scanner scanner = null; 
-		try 
-		{
-			scanner = new Scanner(data); 
-		}
-		catch (IOException ex)
-		{
-			ex.printStackTrace();
-			System.exit(0);
-		}
-		
-		// _ represents a playable empty space, 
-		// ~ represents a non-playable empty space,
-		// DL/DW/TL/TW represents a modifier. 
-		// First two items in file are width/height. 
-		spaces = new JTextField
-				[scanner.nextInt()][scanner.nextInt()]; 
-		letters = new char[spaces.length][spaces[0].length];
-		scoreArray = new int[spaces.length][spaces[0].length]; 
-		modifierArray = new int[spaces.length][spaces[0].length]; 
+		// We are going to have each row be its own
+		// JPanel. We will add each of those JPanels
+		// to this central Board JPanel. 
+		int width = layout.getWidth(), height = layout.getHeight(); 
+		spaces = new JTextField[width][height]; 
+		letters = new char[width][height];
+		modifierArray = new int[width][height]; 
+		blankTiles = new boolean[width][height]; 
 		
-		setLayout(new GridLayout(spaces[0].length, spaces.length)); 
+		setLayout(new GridLayout(height, width)); 
 		
-		for (int y = 0; y < spaces[0].length; y++)
+		for (int y = 0; y < height; y++)
 		{
-			for (int x = 0; x < spaces.length; x++)
+			for (int x = 0; x < width; x++)
 			{
 				spaces[x][y] = createDefaultTextField(); 
-				configureTextField(x, y, scanner.next());
+				configureTextField(x, y);
 				
 				add(spaces[x][y]); 
 				spaceLocations.put(spaces[x][y], new Point(x,y)); 
 			}
 		}
 		
-		enableDocumentListener(true); 
+		grid = new Grid(layout); 
+		scorer = new Scorer(layout, letterValues); 
 		
-		scanner.close(); 
+		enableDocumentListener(true); 
 	}
 	
 	/**
@@ -310,105 +292,66 @@ public class Board extends JPanel implements FocusListener
 	}
 	
 	/**
-	 * Edits the field to meet certain qualifications. 
+	 * Edits the field to meet certain qualifications, 
+	 * depending on what the layout has at this space. 
+	 * For instance, a space that can't be played on 
+	 * needs its border removed, or DW requires a 
+	 * specific background. 
 	 * @param x The x coordinate of the JTextField we want to edit.
 	 * @param y The y coordinate of the JTextField we want to edit.  
-	 * @param key A short string telling us how to edit the
-	 * JTextField. For instance, a key of "~" tells us we
-	 * need to remove the border of a JTextField, or DW requires
-	 * a specific background. 
 	 */
-	private void configureTextField(int x, int y, String key)
+	private void configureTextField(int x, int y)
 	{
 		JTextField field = spaces[x][y]; 
 		
-		if (key.equals("_"))
-		{
-			// Nothing to do here.
-			letters[x][y] = Runner.EMPTY; 
-		}
-		else if (key.equals("~"))
+		if (!layout.isPlayable(x, y))
 		{
 			field.setBorder(BLANK_BORDER);
 			letters[x][y] = '~'; 
+			return; 
 		}
-		else
-		{
-			letters[x][y] = Runner.EMPTY; 
-			
-			if (key.equals("DL"))
-			{
-				modifierArray[x][y] = Runner.DOUBLE_LETTER; 
-				field.setBackground(
-						Runner.DOUBLE_LETTER_COLOR);
-				field.setText("DL");
-				field.setForeground(Color.LIGHT_GRAY);
-			}
-			else if (key.equals("TL"))
-			{
-				modifierArray[x][y] = Runner.TRIPLE_LETTER; 
-				field.setBackground(
-						Runner.TRIPLE_LETTER_COLOR);
-				field.setText("TL");
-				field.setForeground(Color.LIGHT_GRAY);
-			}
-			else if (key.equals("DW"))
-			{
-				modifierArray[x][y] = Runner.DOUBLE_WORD; 
-				field.setBackground(
-						Runner.DOUBLE_WORD_COLOR); 
-				field.setText("DW");
-				field.setForeground(Color.LIGHT_GRAY);
-			}
-			else if (key.equals("TW"))
-			{
-				modifierArray[x][y] = Runner.TRIPLE_WORD; 
-				field.setBackground(
-						Runner.TRIPLE_WORD_COLOR); 
-				field.setText("TW");
-				field.setForeground(Color.LIGHT_GRAY);
-			}
-			else if (key.equals("+"))
-			{
-				modifierArray[x][y] = Runner.START; 
-				field.setBackground(
-						Runner.START_COLOR); 
-				field.setText("+");
-				field.setForeground(Color.LIGHT_GRAY);
-				midPoint = new Point(x,y); 
-			}
-			else 
-			{
-				System.out.println(
-						key + " is not an accepted tile.");
-				System.exit(0); 
-			}
-		}
-	}
-	
-	private HashMap<String, Integer> readLetterPointsFile()
-	{
-		HashMap<String, Integer> letterPoints = new HashMap<>(); 
 		
-		Scanner scanner = null;
-		try
-		{
-			scanner = new Scanner(
-					new File(Runner.LETTER_POINTS_FILE_NAME));
-		}
-		catch (FileNotFoundException ex) 
-		{
-			ex.printStackTrace();
-			System.exit(0);
-		}
+		letters[x][y] = Runner.EMPTY; 
+		modifierArray[x][y] = layout.getModifier(x, y); 
 		
-		while (scanner.hasNext())
+		switch (modifierArray[x][y])
 		{
-			letterPoints.put(scanner.next(), scanner.nextInt()); 
+		case Runner.DOUBLE_LETTER:
+			field.setBackground(
+					Runner.DOUBLE_LETTER_COLOR);
+			field.setText("DL");
+			field.setForeground(Color.LIGHT_GRAY);
+			break;
+			
+		case Runner.TRIPLE_LETTER:
+			field.setBackground(
+					Runner.TRIPLE_LETTER_COLOR);
+			field.setText("TL");
+			field.setForeground(Color.LIGHT_GRAY);
+			break;
+			
+		case Runner.DOUBLE_WORD:
+			field.setBackground(
+					Runner.DOUBLE_WORD_COLOR); 
+			field.setText("DW");
+			field.setForeground(Color.LIGHT_GRAY);
+			break;
+			
+		case Runner.TRIPLE_WORD:
+			field.setBackground(
+					Runner.TRIPLE_WORD_COLOR); 
+			field.setText("TW");
+			field.setForeground(Color.LIGHT_GRAY);
+			break;
+			
+		case Runner.START:
+			field.setBackground(
+					Runner.START_COLOR); 
+			field.setText("+");
+			field.setForeground(Color.LIGHT_GRAY);
+			midPoint = new Point(x,y); 
+			break; 
 		}
-		scanner.close(); 
-		
-		return letterPoints; 
 	}
 	
 	/**
@@ -474,6 +417,8 @@ public class Board extends JPanel implements FocusListener
 			{
 				processCheckedSpace(space); 
 			}
+			robotBlanks.clear(); 
+			updateGrid(); 
 			
 			// End robot's turn. 
 			turnNumber++;
@@ -534,6 +479,7 @@ public class Board extends JPanel implements FocusListener
 			{
 				processCheckedSpace(items[index]); 
 			}
+			updateGrid(); 
 			
 			// This temporarily removes focus from the object we last
 			// interacted with, so that the "type here" pending line
@@ -547,58 +493,46 @@ public class Board extends JPanel implements FocusListener
 		}
 	}
 	
+	/**
+	 * Puts the letters submitted this turn on to the grid. 
+	 */
+	private void updateGrid()
+	{
+		int[] placed = new int[turnSpaces.size()]; 
+		int index = 0; 
+		for (int space : turnSpaces)
+		{
+			placed[index++] = space; 
+		}
+		Grid before = grid; 
+		grid = grid.place(placed, letters, blankTiles); 
+		lastPoints = getScoreFromMove(before, placed); 
+		turnSpaces.clear(); 
+	}
+	
 	private void processCheckedSpace(JTextField space)
 	{
 		if (space.getText().length() == 1 && 
 			Character.isLetter(space.getText().charAt(0)))
 		{
 			String letter = space.getText().toUpperCase();
-			int points = letterPoint.get(letter);
 			Point location = spaceLocations.get(space); 
-			scoreArray[location.x][location.y] = points;
+			// Blanks are not worth any points. 
+			int points = robotBlanks.contains(location) ? 
+					0 : letterValues[letter.charAt(0) - 'A'];
 			
 			space.setText(
 				letter + Runner.SUB[points]);
 			
 			space.setBackground(Runner.PIECE_COLOR);
+			if (!submittedSpaces.contains(space))
+			{
+				turnSpaces.add(location.y * spaces.length + location.x); 
+			}
 			submittedSpaces.add(space); 
 			submittedLocations.add(location); 
 			letters[location.x][location.y] = letter.charAt(0);  
-			
-			// We need to add every empty space adjacent to this
-			// one to the anchor list, to signal to the robot
-			// that it's somewhere they should put a letter.
-			Point anchor = new Point(location.x-1, location.y); 
-			if (location.x != 0 &&
-				!submittedSpaces.contains(spaces[anchor.x][anchor.y])) 
-			{
-				anchorSpaces.add(anchor);
-			}
-			
-			anchor = new Point(location.x, location.y-1); 
-			if (location.y != 0 &&
-				!submittedSpaces.contains(spaces[anchor.x][anchor.y]))
-			{
-				anchorSpaces.add(anchor); 
-			}
-			
-			anchor = new Point(location.x+1, location.y); 
-			if (location.x != spaces.length-1 && 
-				!submittedSpaces.contains(spaces[anchor.x][anchor.y]))
-			{
-				anchorSpaces.add(anchor); 
-			}
-			
-			anchor = new Point(location.x, location.y+1); 
-			if (location.y != spaces[0].length-1 &&
-				!submittedSpaces.contains(spaces[anchor.x][anchor.y]))
-			{
-				anchorSpaces.add(anchor);
-			}
-			
-			// We also need to remove this space from the 
-			// anchor list. 
-			anchorSpaces.remove(location); 
+			blankTiles[location.x][location.y] = robotBlanks.contains(location); 
 		}
 	}
 	
@@ -609,14 +543,11 @@ public class Board extends JPanel implements FocusListener
 	private boolean checkMove()
 	{
 		// Pieces should all be only letters (or a ?)
-		// and should all be in a straight line. 
-		HashSet<Integer> xVals = new HashSet<>();
-		HashSet<Integer> yVals = new HashSet<>(); 
-		 
-		int minX = Integer.MAX_VALUE, 
-			maxX = Integer.MIN_VALUE,
-			minY = Integer.MAX_VALUE,
-			maxY = Integer.MIN_VALUE;
+		// and should all be in a straight line. The 
+		// rows and columns they're in are kept as bits 
+		// (like the Grid's rows and columns), so the 
+		// line can be checked a whole row at a time. 
+		long placedRows = 0, placedColumns = 0; 
 		
 		for (JTextField field : interactedSpaces)
 		{
@@ -628,78 +559,22 @@ public class Board extends JPanel implements FocusListener
 			}
 			
 			Point loc = spaceLocations.get(field); 
-			xVals.add(loc.x); 
-			yVals.add(loc.y); 
-			
-			if (loc.x < minX) minX = loc.x;
-			if (loc.x > maxX) maxX = loc.x; 
-			if (loc.y < minY) minY = loc.y; 
-			if (loc.y > maxY) maxY = loc.y;
+			placedColumns |= 1L << loc.x; 
+			placedRows |= 1L << loc.y; 
 		}
 		
-		// xVals or yVals must have a size of 1. 
-		if (xVals.size() == 1) // Vertical line of letters
+		// There must be only one row or column. 
+		if (Long.bitCount(placedColumns) == 1) // Vertical line of letters
 		{
-			boolean inStartLoc = false; 
-			
-			// From the smallest yVal to the largest, 
-			// there must be no empty spaces. Let's add
-			// all other filled spaces at xVal into the 
-			// list. 
-			for (int y = minY; y <= maxY; y++)
-			{
-				// If there's an empty space between letters... 
-				if (spaces[minX][y].getText().length() == 0)
-				{
-					return false; 
-				}
-				
-				if (modifierArray[minX][y] == Runner.START)
-				{
-					inStartLoc = true; 
-				}
-			}
-			
-			if (turnNumber == 0)
-			{
-				return inStartLoc; 
-			}
-			else 
-			{
-				return areThereNeighboringSpaces(); 
-			}
+			int x = Long.numberOfTrailingZeros(placedColumns); 
+			return checkLine(placedRows, grid.getColumn(x), 
+					x == layout.getStartX(), layout.getStartY()); 
 		}
-		else if (yVals.size() == 1)
+		else if (Long.bitCount(placedRows) == 1)
 		{
-			boolean inStartLoc = false; 
-			
-			// From the smallest xVal to the largest, 
-			// there must be no empty spaces. Let's add
-			// all other filled spaces at yVal into the 
-			// list. 
-			for (int x = minX; x <= maxX; x++)
-			{
-				// If there's an empty space between letters. 
-				if (spaces[x][minY].getText().length() == 0)
-				{
-					return false; 
-				}
-				
-				// If the x,y loc is a start location 
-				if (modifierArray[x][minY] == Runner.START)
-				{
-					inStartLoc = true; 
-				}
-			}
-			
-			if (turnNumber == 0)
-			{
-				return inStartLoc;
-			}
-			else 
-			{
-				return areThereNeighboringSpaces(); 
-			}  
+			int y = Long.numberOfTrailingZeros(placedRows); 
+			return checkLine(placedColumns, grid.getRow(y), 
+					y == layout.getStartY(), layout.getStartX()); 
 		}
 		else 
 		{
@@ -707,6 +582,39 @@ public class Board extends JPanel implements FocusListener
 		}
 	}
 	
+	/**
+	 * Checks the letters placed in one row or column. 
+	 * @param placed The spaces letters were placed on 
+	 * this turn, as bits along the line. 
+	 * @param line The spaces along the line that were 
+	 * already on the board. 
+	 * @param onStartLine Whether the line goes through 
+	 * the start space. 
+	 * @param start Where along the line the start space
+	 * is, if it does. 
+	 */
+	private boolean checkLine(long placed, long line, boolean onStartLine, int start)
+	{
+		// From the first letter placed to the last, 
+		// there must be no empty spaces. 
+		int first = Long.numberOfTrailingZeros(placed); 
+		int last = Long.SIZE - 1 - Long.numberOfLeadingZeros(placed); 
+		long span = (-1L >>> (Long.SIZE - 1 - last)) & (-1L << first); 
+		if ((span & ~(placed | line)) != 0)
+		{
+			return false; 
+		}
+		
+		if (turnNumber == 0)
+		{
+			return onStartLine && (span & (1L << start)) != 0; 
+		}
+		else 
+		{
+			return areThereNeighboringSpaces(); 
+		}
+	}
+	
 	/**
 	 * This method checks to see that there's some
 	 * neighboring spaces *already on the board* 
@@ -716,36 +624,17 @@ public class Board extends JPanel implements FocusListener
 	 */
 	private boolean areThereNeighboringSpaces()
 	{
+		int height = layout.getHeight(); 
 		for (JTextField space : interactedSpaces)
 		{
-			// Search each space around this one for
-			// one that is contained in submittedSpaces. 
+			// Any letter left or right of this space, 
+			// or above or below it, will do. 
 			Point loc = spaceLocations.get(space); 
 			
-			if (loc.x != 0 && 
-					submittedSpaces.contains(
-							spaces[loc.x-1][loc.y]))
-			{
-				return true; 
-			}
-			
-			else if (loc.x != spaces.length-1 && 
-					submittedSpaces.contains(
-							spaces[loc.x+1][loc.y]))
-			{
-				return true; 
-			}
-				
-			else if (loc.y != 0 &&
-					submittedSpaces.contains(
-							spaces[loc.x][loc.y-1]))
-			{
-				return true; 
-			}
-			
-			else if (loc.y != spaces[0].length-1  && 
-					submittedSpaces.contains(
-							spaces[loc.x][loc.y+1]))
+			long around = grid.getRow(loc.y) << 1 | grid.getRow(loc.y) >>> 1 | 
+					(loc.y != 0 ? grid.getRow(loc.y-1) : 0) | 
+					(loc.y != height-1 ? grid.getRow(loc.y+1) : 0); 
+			if ((around & (1L << loc.x)) != 0)
 			{
 				return true; 
 			}
@@ -755,234 +644,57 @@ public class Board extends JPanel implements FocusListener
 	}
 	
 	/**
-	 * If we're here, we've assumed the move made
-	 * is valid, and that checkMove() has returned
-	 * true.
+	 * Works out how many points the letters placed this
+	 * turn got, using the board from before they were 
+	 * placed. 
+	 * @param before The grid before this turn. 
+	 * @param placed The spaces letters were put on, 
+	 * y * width + x. 
 	 * @return The amount of points the last move the
 	 * player made should have gotten. 
 	 */
-	public int getScoreFromMove(boolean removeModifiers)
-	{
-		int score = 0; 
-		
-		// Lets get the points from the base word the 
-		// user has placed down. 
-		// We need the direction the word was placed.
-		int index = 0, x1 = -1, y1 = -1, x2 = -1, y2 = -1; 
-		for (JTextField field : interactedSpaces)
-		{
-			Point loc = spaceLocations.get(field);
-			
-			if (index == 0)
-			{
-				x1 = loc.x; 
-				y1 = loc.y; 
-				index++; 
-			}
-			else
-			{
-				x2 = loc.x; 
-				y2 = loc.y; 
-				break; 
-			}
-		}
-		
-		// This will be true if the player placed
-		// down a single tile. This has effects
-		// if there's 8 tiles surrounding an empty
-		// space with a modifier; if the player 
-		// places a tile in the middle, then they
-		// should receive the modifier twice. 
-		boolean bothVerticalAndHorizontal = 
-				(x1 == x2 && y1 == y2); 
-		
-		LinkedList<Point[]> visitedWords = new LinkedList<>();
-		if (x1 == x2) // Vertical word
-		{
-			Point[] baseWord = readCol(x1, y1); 
-			score = scoreWord(baseWord, !bothVerticalAndHorizontal && removeModifiers);
-			visitedWords.add(baseWord); 
-		}
-		if (y1 == y2) // Horizontal word 
-		{
-			Point[] baseWord = readRow(x1, y1); 
-			score = scoreWord(baseWord, removeModifiers);
-			visitedWords.add(baseWord); 
-		}
-		
-		for (JTextField field : interactedSpaces)
-		{
-			Point loc = spaceLocations.get(field);
-			
-			Point[] row = readRow(loc.x, loc.y); 
-			Point[] col = readCol(loc.x, loc.y); 
-			
-			if (row.length != 1 && !visitedWord(visitedWords, row))
-			{
-				score += scoreWord(row, removeModifiers);
-				visitedWords.add(row); 
-			}
-			
-			if (col.length != 1 && !visitedWord(visitedWords, col))
-			{
-				score += scoreWord(col, removeModifiers);
-				visitedWords.add(col); 
-			}
-		}
-		
-		return score; 
-	}
-	
-	/**
-	 * Reads the entire row at this point, returning a
-	 * list of Points that have a score attached. 
-	 */
-	private Point[] readRow(int x, int y)
-	{
-		// Crawl as far left as possible from this
-		// location. 
-		int minX = x; 
-		while (minX != 0 && scoreArray[minX-1][y] != 0)
-		{
-			minX--; 
-		}
-		
-		// Crawl right. 
-		int maxX = x;
-		while (maxX+1 < spaces.length && 
-				scoreArray[maxX+1][y] != 0)
-		{
-			maxX++; 
-		}
-		
-		Point[] points = new Point[maxX- minX + 1]; 
-		for (int arri = 0, xi = minX; xi <= maxX; arri++, xi++)
-		{
-			points[arri] = new Point(xi, y); 
-		}
-		
-		return points; 
-	}
-	
-	/**
-	 * Reads the entire column at this point, returning a
-	 * list of Points that have a score attached. 
-	 */
-	private Point[] readCol(int x, int y)
+	private int getScoreFromMove(Grid before, int[] placed)
 	{
-		// Crawl as far up as possible from this
-		// location. 
-		int minY = y; 
-		while (minY != 0 && scoreArray[x][minY-1] != 0)
+		if (placed.length == 0)
 		{
-			minY--; 
+			return 0; 
 		}
 		
-		// Crawl down. 
-		int maxY = y; 
-		while (maxY+1 < spaces[0].length && 
-				scoreArray[x][maxY+1] != 0)
+		// We need the direction the word was placed. A 
+		// single tile is scored across, and the Scorer
+		// counts the word going down through it too. 
+		int width = grid.getWidth(); 
+		int x = placed[0] % width, y = placed[0] / width; 
+		boolean vertical = placed.length > 1 && placed[1] % width == x; 
+		for (int space : placed)
 		{
-			maxY++; 
+			x = Math.min(x, space % width); 
+			y = Math.min(y, space / width); 
 		}
 		
-		Point[] points = new Point[maxY - minY + 1]; 
-		for (int arri = 0, yi = minY; yi <= maxY; arri++, yi++)
+		// Crawl back to the start of the word. 
+		int dx = vertical ? 0 : 1, dy = vertical ? 1 : 0; 
+		while (grid.hasLetter(x - dx, y - dy))
 		{
-			points[arri] = new Point(x, yi); 
+			x -= dx; 
+			y -= dy; 
 		}
 		
-		return points; 
-	}
-	
-	/**
-	 * Returns a score, factoring in modifiers. 
-	 * @param points The location of each letter in a word.
-	 * @param removeMod whether or not we should remove the 
-	 * modifier of a letter after we place a letter there.  
-	 * @return The score the word should receive. 
-	 */
-	private int scoreWord(Point[] points, boolean removeMod)
-	{
-		int score = 0; 
-		int numDoubleWord = 0, numTripleWord = 0;
-		for (Point point : points)
+		// Read the whole word off the board the way it is
+		// now. 
+		StringBuilder word = new StringBuilder(); 
+		long blanks = 0; 
+		for (int cx = x, cy = y; grid.hasLetter(cx, cy); cx += dx, cy += dy)
 		{
-			int letterAmount = scoreArray[point.x][point.y];
-			
-			int modifier = modifierArray[point.x][point.y]; 
-			if (modifier == Runner.DOUBLE_LETTER)
-			{
-				letterAmount *= 2; 
-			}
-			else if (modifier == Runner.TRIPLE_LETTER)
-			{
-				letterAmount *= 3; 
-			}
-			else if (modifier == Runner.DOUBLE_WORD)
+			if (grid.isBlank(cx, cy))
 			{
-				numDoubleWord++; 
+				blanks |= 1L << word.length(); 
 			}
-			else if (modifier == Runner.TRIPLE_WORD)
-			{
-				numTripleWord++; 
-			}
-			
-			// Since we've read the modifier, let's mark the
-			// letter as "read". 
-			if (removeMod) modifierArray[point.x][point.y] = 0;  
-			
-			score += letterAmount; 
-		}
-		
-		if (numDoubleWord != 0)
-		{
-			score *= numDoubleWord * 2; 
-		}
-		if (numTripleWord != 0)
-		{
-			score *= numTripleWord * 3; 
+			word.append(grid.get(cx, cy)); 
 		}
 		
-		return score; 
-	}
-	
-	private boolean visitedWord(LinkedList<Point[]> history, Point[] word)
-	{
-		HashSet<Point> wordSet = getHashSetFromWord(word);
-		
-		for (Point[] pastWord : history)
-		{
-			HashSet<Point> pastWordSet = getHashSetFromWord(pastWord); 
-			
-			if (pastWordSet.size() == wordSet.size()) 
-			{
-				boolean same = true; 
-				for (Point letter : wordSet)
-				{
-					if (!pastWordSet.contains(letter))
-					{
-						same = false; 
-						break; 
-					}
-				}
-				if (same)
-				{
-					return true; 
-				}
-			}
-		}
-		return false; 
-	}
-	
-	private HashSet<Point> getHashSetFromWord(Point[] word)
-	{
-		HashSet<Point> wordSet = new HashSet<>(); 
-		for (Point point : word)
-		{
-			wordSet.add(point);
-		}
-		return wordSet; 
+		return scorer.score(before.getLetters(), before.getBlanks(), 
+				x, y, vertical, word, blanks); 
 	}
 	
 	public void placeLetter(JTextField field)
@@ -993,24 +705,13 @@ public class Board extends JPanel implements FocusListener
 	
 	public void robotPlaceLetter(Point location, char letter, boolean customLetter)
 	{
-		// If robot wants to place a letter somewhere where
-		// there is already a letter on it, then we should
-		// keep track of it. 
-		if (submittedLocations.contains(location))
+		interactedSpaces.add(spaces[location.x][location.y]); 
+		if (customLetter)
 		{
-			robotTempStorage.put(location, letter); 
+			robotBlanks.add(location); 
 		}
-		
-		interactedSpaces.add(spaces[location.x][location.y]); 
 		// We don't setMoveState because the robot 
 		// will be placing a LOT of letters. 
-		
-		// Custom letters '?' are not worth any points. 
-		if (!customLetter)
-		{
-			int points = letterPoint.get(letter + ""); 
-			scoreArray[location.x][location.y] = points;
-		}
 	}
 	
 	public void removeLetter(JTextField field)
@@ -1027,17 +728,8 @@ public class Board extends JPanel implements FocusListener
 	
 	public void robotRemoveLetter(Point location)
 	{
-		Character c; 
-		if ((c = robotTempStorage.get(location)) != null)
-		{
-			scoreArray[location.x][location.y] = letterPoint.get(c + ""); 
-		}
-		else
-		{
-			scoreArray[location.x][location.y] = 0;
-		}
-		
 		interactedSpaces.remove(spaces[location.x][location.y]);
+		robotBlanks.remove(location); 
 	}
 	
 	public void setLetterVisually(Point loc, char c)
@@ -1183,7 +875,7 @@ public class Board extends JPanel implements FocusListener
 	 */
 	public int getPoints() 
 	{
-		return getScoreFromMove(true);
+		return lastPoints;
 	}
 	
 	/**
@@ -1205,9 +897,13 @@ public class Board extends JPanel implements FocusListener
 		return submittedLocations; 
 	}
 	
-	public HashSet<Point> getAnchorSpaces()
+	/**
+	 * Returns the letters submitted so far, without anything
+	 * from Swing, so the Engine can look for moves on it. 
+	 */
+	public Grid getGrid()
 	{
-		return anchorSpaces; 
+		return grid; 
 	}
 	
 	public int getNumTurns()
@@ -0,0 +1,125 @@
+/**
+ * For every empty space on the board, which letters can be put
+ * there without making a bad word going the other way. A word
+ * placed across a space has to fit the letters above and below it;
+ * a word placed down has to fit the letters left and right of it.
+ *
+ * The letters are kept as masks, with bit (c - 'A') set if letter c
+ * is allowed, so checking a letter is a single AND. Since the masks
+ * only depend on the board, they are worked out once per turn
+ * instead of once for every word the robot tries.
+ *
+ * Every letter tried on a space is a word looked up in the
+ * dictionary, and they're counted in SearchMetrics.
+ */
+public class CrossChecks
+{
+	/**
+	 * Every letter is allowed.
+	 */
+	public static final int ALL = (1 << 26) - 1;
+
+	private int width, height;
+
+	/**
+	 * across[y * width + x] is the mask for a tile at x,y in a word
+	 * going across; down[] is the same for a word going down.
+	 */
+	private int[] across, down;
+
+	/**
+	 * How many words have been looked up.
+	 */
+	private long lookups;
+
+	public CrossChecks(Grid grid, Trie dictionary)
+	{
+		width = grid.getWidth();
+		height = grid.getHeight();
+		across = new int[width * height];
+		down = new int[width * height];
+
+		for (int x = 0; x < width; x++)
+		{
+			for (int y = 0; y < height; y++)
+			{
+				if (grid.get(x, y) != Runner.EMPTY)
+				{
+					// Only empty spaces need a mask.
+					continue;
+				}
+				across[y * width + x] = findMask(grid, dictionary, x, y, 0, 1);
+				down[y * width + x] = findMask(grid, dictionary, x, y, 1, 0);
+			}
+		}
+		SearchMetrics.get().addLookups(lookups);
+	}
+
+	/**
+	 * Returns which letters can go at x,y as part of a word going
+	 * down (vertical) or across.
+	 */
+	public int get(int x, int y, boolean vertical)
+	{
+		return vertical ? down[y * width + x] : across[y * width + x];
+	}
+
+	/**
+	 * Whether or not the letter is in the mask.
+	 */
+	public static boolean allows(int mask, char letter)
+	{
+		return (mask & (1 << (letter - 'A'))) != 0;
+	}
+
+	/**
+	 * Works out which letters fit between the letters before x,y
+	 * and the letters after it, going in the direction dx,dy.
+	 */
+	private int findMask(Grid grid, Trie dictionary,
+			int x, int y, int dx, int dy)
+	{
+		// Go back to the start of the letters before this space.
+		int startX = x, startY = y;
+		while (grid.hasLetter(startX - dx, startY - dy))
+		{
+			startX -= dx;
+			startY -= dy;
+		}
+		boolean after = grid.hasLetter(x + dx, y + dy);
+		if (startX == x && startY == y && !after)
+		{
+			// Nothing on either side, so any letter is fine.
+			return ALL;
+		}
+
+		int node = dictionary.getRoot();
+		for (int cx = startX, cy = startY; cx != x || cy != y; cx += dx, cy += dy)
+		{
+			node = dictionary.get(node, grid.get(cx, cy));
+			if (node == Trie.NONE)
+			{
+				return 0;
+			}
+		}
+
+		int mask = 0;
+		for (int letters = dictionary.childMask(node); letters != 0; letters &= letters - 1)
+		{
+			char letter = (char)('A' + Integer.numberOfTrailingZeros(letters));
+			int child = dictionary.get(node, letter);
+			lookups++;
+			for (int cx = x + dx, cy = y + dy;
+					child != Trie.NONE && grid.hasLetter(cx, cy);
+					cx += dx, cy += dy)
+			{
+				child = dictionary.get(child, grid.get(cx, cy));
+			}
+			if (child != Trie.NONE && dictionary.ends(child))
+			{
+				mask |= 1 << (letter - 'A');
+			}
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,272 @@
+import java.util.Arrays;
+
+/**
+ * Builds a minimized DAWG (directed acyclic word graph) out of
+ * words handed to it in sorted order. Each state is finished as
+ * soon as no later word can reach it, and is then looked up in a
+ * register of finished states; if an equal state already exists,
+ * the two are merged. This way common suffixes ("-ING", "-ED") are
+ * only stored once.
+ *
+ * The finished graph is packed into three flat arrays:
+ * masks[state] has bit k set if the state has an edge for symbol k,
+ * and FINAL set if a word ends there. The edges of a state are
+ * stored next to each other in targets[], starting at firsts[state],
+ * in order of their symbol.
+ */
+class DawgBuilder
+{
+	/**
+	 * Set in a state's mask when a word ends at that state.
+	 */
+	static final int FINAL = 1 << 31;
+
+	/**
+	 * How many different symbols the words can be made of. A
+	 * word's characters are mapped to symbols by subtracting 'A'.
+	 */
+	private int symbols;
+
+	private int[] masks, firsts, targets;
+
+	private int stateCount, edgeCount;
+
+	/**
+	 * Open addressing hash table of finished states. Empty slots
+	 * hold -1.
+	 */
+	private int[] register;
+
+	/**
+	 * The states along the path of the last word added. These
+	 * haven't been finished yet, since the next word may still
+	 * add edges to them. pathTargets[depth][symbol] is the
+	 * finished state the edge leads to.
+	 */
+	private int[] pathMasks;
+	private int[][] pathTargets;
+
+	private char[] previous;
+	private int previousLength;
+
+	private int root;
+
+	DawgBuilder(int symbols)
+	{
+		this.symbols = symbols;
+
+		masks = new int[1024];
+		firsts = new int[1024];
+		targets = new int[1024];
+		register = new int[2048];
+		Arrays.fill(register, -1);
+
+		pathMasks = new int[16];
+		pathTargets = new int[16][symbols];
+		previous = new char[16];
+		previousLength = 0;
+		root = -1;
+	}
+
+	/**
+	 * Adds a word to the graph. Words must be added in sorted
+	 * order; adding the same word twice in a row does nothing.
+	 */
+	void add(CharSequence word)
+	{
+		int length = word.length();
+		int common = 0;
+		while (common < length && common < previousLength &&
+				word.charAt(common) == previous[common])
+		{
+			common++;
+		}
+
+		if (common == length && common == previousLength)
+		{
+			return; // Same word as last time.
+		}
+		if (common < previousLength &&
+			(common == length || word.charAt(common) < previous[common]))
+		{
+			throw new IllegalArgumentException(
+					"Words must be added in sorted order: " + word);
+		}
+
+		// Everything past the shared prefix can't change anymore.
+		freezePath(common);
+
+		ensurePathCapacity(length);
+		for (int depth = common; depth < length; depth++)
+		{
+			int symbol = word.charAt(depth) - 'A';
+			if (symbol < 0 || symbol >= symbols)
+			{
+				throw new IllegalArgumentException(
+						"Unexpected character in word: " + word);
+			}
+			pathMasks[depth] |= 1 << symbol;
+			previous[depth] = word.charAt(depth);
+		}
+		pathMasks[length] |= FINAL;
+		previousLength = length;
+	}
+
+	/**
+	 * Finishes the graph. No more words can be added afterwards.
+	 */
+	void finish()
+	{
+		freezePath(0);
+		root = freeze(0);
+
+		masks = Arrays.copyOf(masks, stateCount);
+		firsts = Arrays.copyOf(firsts, stateCount);
+		targets = Arrays.copyOf(targets, edgeCount);
+		register = null;
+		pathTargets = null;
+	}
+
+	int getRoot() { return root; }
+	int[] getMasks() { return masks; }
+	int[] getFirsts() { return firsts; }
+	int[] getTargets() { return targets; }
+
+	/**
+	 * Finishes every state on the current path deeper than the
+	 * given depth, from the bottom up.
+	 */
+	private void freezePath(int depth)
+	{
+		for (int d = previousLength; d > depth; d--)
+		{
+			int state = freeze(d);
+			int symbol = previous[d-1] - 'A';
+			pathTargets[d-1][symbol] = state;
+		}
+	}
+
+	/**
+	 * Finds the finished state equal to the path state at this
+	 * depth, adding it to the register if there isn't one yet.
+	 * The path state is cleared afterwards.
+	 */
+	private int freeze(int depth)
+	{
+		int mask = pathMasks[depth];
+		int[] edges = pathTargets[depth];
+
+		int hash = mask;
+		for (int bits = mask & ~FINAL; bits != 0; bits &= bits - 1)
+		{
+			hash = hash * 31 + edges[Integer.numberOfTrailingZeros(bits)];
+		}
+		hash *= 0x9E3779B9;
+		hash ^= hash >>> 16;
+
+		int slot = hash & (register.length - 1);
+		int state;
+		while ((state = register[slot]) != -1)
+		{
+			if (sameState(state, mask, edges))
+			{
+				pathMasks[depth] = 0;
+				return state;
+			}
+			slot = (slot + 1) & (register.length - 1);
+		}
+
+		// Nothing like it yet, so this is a new state.
+		state = stateCount++;
+		if (state == masks.length)
+		{
+			masks = Arrays.copyOf(masks, state * 2);
+			firsts = Arrays.copyOf(firsts, state * 2);
+		}
+		masks[state] = mask;
+		firsts[state] = edgeCount;
+		for (int bits = mask & ~FINAL; bits != 0; bits &= bits - 1)
+		{
+			if (edgeCount == targets.length)
+			{
+				targets = Arrays.copyOf(targets, edgeCount * 2);
+			}
+			targets[edgeCount++] = edges[Integer.numberOfTrailingZeros(bits)];
+		}
+		register[slot] = state;
+
+		if (stateCount * 2 > register.length)
+		{
+			growRegister();
+		}
+
+		pathMasks[depth] = 0;
+		return state;
+	}
+
+	private boolean sameState(int state, int mask, int[] edges)
+	{
+		if (masks[state] != mask)
+		{
+			return false;
+		}
+		int edge = firsts[state];
+		for (int bits = mask & ~FINAL; bits != 0; bits &= bits - 1)
+		{
+			if (targets[edge++] != edges[Integer.numberOfTrailingZeros(bits)])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void growRegister()
+	{
+		int[] old = register;
+		register = new int[old.length * 2];
+		Arrays.fill(register, -1);
+
+		for (int state : old)
+		{
+			if (state == -1)
+			{
+				continue;
+			}
+			int mask = masks[state];
+			int hash = mask;
+			int edge = firsts[state];
+			for (int bits = mask & ~FINAL; bits != 0; bits &= bits - 1)
+			{
+				hash = hash * 31 + targets[edge++];
+			}
+			hash *= 0x9E3779B9;
+			hash ^= hash >>> 16;
+
+			int slot = hash & (register.length - 1);
+			while (register[slot] != -1)
+			{
+				slot = (slot + 1) & (register.length - 1);
+			}
+			register[slot] = state;
+		}
+	}
+
+	private void ensurePathCapacity(int length)
+	{
+		if (length + 1 > pathMasks.length)
+		{
+			int size = Math.max(length + 1, pathMasks.length * 2);
+			pathMasks = Arrays.copyOf(pathMasks, size);
+			previous = Arrays.copyOf(previous, size);
+
+			int[][] grown = new int[size][];
+			for (int k = 0; k < size; k++)
+			{
+				grown[k] = k < pathTargets.length ?
+						pathTargets[k] : new int[symbols];
+			}
+			pathTargets = grown;
+		}
+	}
+}
@@ -0,0 +1,380 @@
+/**
+ * Plays the end of the game, once the bag is empty, as well as it
+ * can be played. With no tiles left to draw, both racks are known,
+ * so instead of taking the move that scores the most now, every
+ * line of play can be looked at to the end of the game.
+ *
+ * The search is alpha-beta (negamax), with the Engine finding the
+ * moves, best scoring first, plus a pass. A position's value is how
+ * many more points the player to move will make than the other,
+ * from here to the end: going out gets twice what's left in the
+ * other rack (it's added to one score and taken off the other), and
+ * if both players pass in a row, the game ends with each losing
+ * what's in their own rack. Most positions only need their best few
+ * moves looked at before the search can stop there, so those are
+ * found first, and the rest only when they're needed.
+ *
+ * It's run with deeper and deeper limits on how many moves ahead to
+ * look, until a search reaches the end of the game everywhere (the
+ * answer is exact) or the time runs out (the answer is the deepest
+ * search that finished). Between searches, and between different
+ * orders of the same moves, positions are remembered in a
+ * transposition table, found by their Zobrist key: the board's and
+ * both racks' keys (see Grid.getKey and Rack.getKey), which are kept
+ * up to date as tiles are played, so they're never worked out from
+ * scratch. The key only cares which rack is the one to move, not
+ * whose it is, so the same position with the players swapped is
+ * only searched once.
+ *
+ * This is still exploratory. It solves endgames with a few tiles
+ * left exactly, but full 7-vs-7 endgames usually run out of time
+ * a few moves deep, since every position searched needs a move
+ * search of its own. That's why the robot only uses it when
+ * Runner.SOLVE_ENDGAMES is turned on.
+ */
+public class EndgameSolver
+{
+	/**
+	 * More than any spread can be.
+	 */
+	private static final int INFINITY = 1_000_000;
+
+	private static final byte EXACT = 0, LOWER = 1, UPPER = 2;
+
+	/**
+	 * The depth stored for positions searched all the way to the
+	 * end of the game, which are right at every depth.
+	 */
+	private static final byte SOLVED = Byte.MAX_VALUE;
+
+	/**
+	 * Stands for passing, where a move is kept as an index into a
+	 * position's moves, and for there being no move to try.
+	 */
+	private static final int PASS = -1, NONE = -2;
+
+	/**
+	 * How many of a position's best moves are found first. The rest
+	 * are only found if none of these is good enough to stop at.
+	 */
+	private static final int FIRST_MOVES = 8;
+
+	/**
+	 * What one entry in the transposition table takes up: its key,
+	 * value, best move, depth and bound.
+	 */
+	private static final int ENTRY_BYTES = 8 + 4 + 4 + 1 + 1;
+
+	/**
+	 * XORed into the key when the last move was a pass.
+	 */
+	private static final long PASS_KEY = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * How often (in positions) to check whether time is up.
+	 */
+	private static final int CLOCK_INTERVAL = 256;
+
+	/**
+	 * Finds the moves. The search is one line at a time, so it runs
+	 * on the calling thread. Each deeper search goes back over the
+	 * positions the last one did, so the moves found are remembered
+	 * (see MoveCache), and most positions only have them found once.
+	 */
+	private Engine engine;
+
+	/**
+	 * How many points each letter is worth, letterValues[c - 'A'].
+	 */
+	private int[] letterValues;
+
+	/**
+	 * The transposition table. Entry i is keys[i], values[i] and so
+	 * on; a position goes in entry (key & mask). It's only made the
+	 * first time it's needed, and kept from one solve to the next,
+	 * since what it knows about a position is still true later.
+	 */
+	private long[] keys;
+	private int[] values;
+	private int[] bestMoves;
+	private byte[] depths, bounds;
+	private int mask;
+	private int tableMegabytes;
+
+	private long deadline;
+	private boolean outOfTime;
+	private int nodes;
+
+	/**
+	 * Whether the search can stop when the time is up. The first
+	 * search always finishes, so there's always an answer.
+	 */
+	private boolean canStop;
+
+	/**
+	 * The depth limit of the current search, and the best move at
+	 * the top of it, as an index into the moves there (or PASS).
+	 */
+	private int rootDepth, rootMove;
+
+	/**
+	 * Set when a search is cut off by the depth limit somewhere.
+	 */
+	private boolean cut;
+
+	/**
+	 * @param tableMegabytes About how much memory the transposition
+	 * table may take, and again the moves remembered.
+	 */
+	public EndgameSolver(Lexicon lexicon, int[] letterValues, int tableMegabytes)
+	{
+		engine = new Engine(lexicon, letterValues, null, null,
+				new MoveCache(tableMegabytes, Integer.MAX_VALUE));
+		this.letterValues = letterValues.clone();
+		this.tableMegabytes = tableMegabytes;
+	}
+
+	private void makeTable()
+	{
+		int entries = Integer.highestOneBit(
+				(int)Math.min(1 << 30, tableMegabytes * (1L << 20) / ENTRY_BYTES));
+		keys = new long[entries];
+		values = new int[entries];
+		bestMoves = new int[entries];
+		depths = new byte[entries];
+		bounds = new byte[entries];
+		mask = entries - 1;
+	}
+
+	/**
+	 * The move to make, and what it's worth.
+	 */
+	public static class Solution
+	{
+		/**
+		 * The move, or null to pass.
+		 */
+		final Move move;
+
+		/**
+		 * How many more points we make than the opponent from here
+		 * to the end of the game, if both play the best they can.
+		 */
+		final int spread;
+
+		/**
+		 * Whether every line was searched to the end of the game.
+		 * If not, the answer is from the deepest search that
+		 * finished in time.
+		 */
+		final boolean exact;
+
+		/**
+		 * How many moves ahead were looked at.
+		 */
+		final int depth;
+
+		Solution(Move move, int spread, boolean exact, int depth)
+		{
+			this.move = move;
+			this.spread = spread;
+			this.exact = exact;
+			this.depth = depth;
+		}
+
+		@Override
+		public String toString()
+		{
+			return (move == null ? "pass" : move.toString()) +
+					(exact ? ", spread " : ", spread about ") + spread +
+					" (" + depth + " moves ahead)";
+		}
+	}
+
+	/**
+	 * Finds the best move for rack, with the opponent holding every
+	 * other tile left.
+	 * @param millis About how long to take. It will take longer if
+	 * even looking one move ahead takes longer than that.
+	 */
+	public Solution solve(Grid grid, Rack rack, Rack opponent, long millis)
+	{
+		deadline = System.nanoTime() + millis * 1_000_000;
+		canStop = false;
+		if (keys == null)
+		{
+			makeTable();
+		}
+
+		Rack[] racks = { new Rack(rack), new Rack(opponent) };
+		Move[] moves = engine.findMoves(grid, rack);
+
+		Solution best = null;
+		int maxDepth = 2 * (rack.size() + opponent.size()) + 2;
+		for (int depth = 1; depth <= maxDepth; depth++)
+		{
+			outOfTime = false;
+			cut = false;
+			rootDepth = depth;
+			int spread = search(grid, racks, 0, false, depth, -INFINITY, INFINITY);
+			if (outOfTime)
+			{
+				break;
+			}
+
+			best = new Solution(rootMove == PASS ? null : moves[rootMove],
+					spread, !cut, depth);
+			if (best.exact)
+			{
+				break;
+			}
+			canStop = true;
+		}
+		return best;
+	}
+
+	/**
+	 * Returns how many more points the player to move makes than the
+	 * other from here on, looking depth moves ahead, if it's between
+	 * alpha and beta. If it's not, the answer is only a bound: at
+	 * most alpha, or at least beta.
+	 * @param player Which rack is the one to move.
+	 * @param passed Whether the last move was a pass.
+	 */
+	private int search(Grid grid, Rack[] racks, int player, boolean passed,
+			int depth, int alpha, int beta)
+	{
+		if (canStop && ++nodes % CLOCK_INTERVAL == 0 && System.nanoTime() > deadline)
+		{
+			outOfTime = true;
+		}
+		if (outOfTime)
+		{
+			return 0;
+		}
+
+		Rack rack = racks[player], other = racks[1 - player];
+		long key = grid.getKey() ^ rack.getKey() ^ Long.rotateLeft(other.getKey(), 1) ^
+				(passed ? PASS_KEY : 0);
+		int slot = (int)key & mask;
+		int first = NONE;
+		if (keys[slot] == key)
+		{
+			first = bestMoves[slot];
+			if (depths[slot] >= depth && depth != rootDepth)
+			{
+				int stored = values[slot];
+				if (bounds[slot] == EXACT ||
+					(bounds[slot] == LOWER && stored >= beta) ||
+					(bounds[slot] == UPPER && stored <= alpha))
+				{
+					cut |= depths[slot] != SOLVED;
+					return stored;
+				}
+			}
+		}
+
+		if (depth == 0)
+		{
+			cut = true;
+			return value(other) - value(rack);
+		}
+
+		boolean wasCut = cut;
+		cut = false;
+
+		// The best move from last time, then the best few moves, then
+		// the rest of them (only found if none of the few was good
+		// enough to stop at), then passing. The few are the start of
+		// the list of every move, best first, so an index is the same
+		// move whichever list it's into.
+		Move[] moves = engine.findMoves(grid, rack, FIRST_MOVES);
+		boolean all = moves.length < FIRST_MOVES;
+		if (first >= moves.length && !all)
+		{
+			moves = engine.findMoves(grid, rack);
+			all = true;
+		}
+		if (first < PASS || first >= moves.length)
+		{
+			// A different position with the same key.
+			first = NONE;
+		}
+		int best = -INFINITY, bestMove = NONE;
+		for (int k = -1; k <= moves.length; k++)
+		{
+			if (k == moves.length && !all)
+			{
+				moves = engine.findMoves(grid, rack);
+				all = true;
+			}
+			int index = k == -1 ? first : k == moves.length ? PASS : k;
+			if (index == NONE || (k != -1 && index == first))
+			{
+				continue;
+			}
+
+			int floor = Math.max(alpha, best), value;
+			if (index == PASS)
+			{
+				value = passed ?
+						// Both passed, so the game's over.
+						value(other) - value(rack) :
+						-search(grid, racks, 1 - player, true, depth - 1, -beta, -floor);
+			}
+			else
+			{
+				Move move = moves[index];
+				Rack[] next = racks.clone();
+				next[player] = new Rack(rack);
+				next[player].remove(grid, move);
+
+				value = next[player].isEmpty() ?
+						move.score + 2 * value(other) :
+						move.score - search(grid.play(move), next, 1 - player, false,
+								depth - 1, move.score - beta, move.score - floor);
+			}
+
+			if (value > best)
+			{
+				best = value;
+				bestMove = index;
+				if (best >= beta)
+				{
+					break;
+				}
+			}
+		}
+
+		if (!outOfTime)
+		{
+			if (depth == rootDepth)
+			{
+				rootMove = bestMove;
+			}
+			if (keys[slot] != key || depth >= depths[slot] || !cut)
+			{
+				keys[slot] = key;
+				values[slot] = best;
+				bestMoves[slot] = bestMove;
+				depths[slot] = cut ? (byte)Math.min(depth, SOLVED - 1) : SOLVED;
+				bounds[slot] = best <= alpha ? UPPER : best >= beta ? LOWER : EXACT;
+			}
+		}
+		cut |= wasCut;
+		return best;
+	}
+
+	/**
+	 * What the tiles in a rack are worth. Blanks are worth nothing.
+	 */
+	private int value(Rack rack)
+	{
+		int value = 0;
+		for (char letter : Runner.ALPHABET)
+		{
+			value += rack.count(letter) * letterValues[letter - 'A'];
+		}
+		return value;
+	}
+}
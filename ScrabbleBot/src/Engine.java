@@ -0,0 +1,542 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds and scores the moves for a rack on a board. Everything it
+ * needs is handed to it (the lexicon, what the letters are worth,
+ * and a Grid with its Layout), so it can run without a Frame, a
+ * Board or anything else from Swing. The Robot is one user of it.
+ *
+ * Given a ForkJoinPool, the anchors on the board are split between
+ * the pool's threads. Every anchor is searched on its own, so the
+ * threads only share things that don't change during a search (the
+ * lexicon, the board, its cross-checks and the Scorer); each has its
+ * own MoveGenerator and its own list of moves, and the lists are
+ * joined at the end.
+ *
+ * A search can also be given a time limit. Then the anchors are
+ * searched the most promising first, one at a time, by however many
+ * threads there are, and whatever has been found when the time is
+ * up is the answer.
+ */
+public class Engine
+{
+	private Lexicon lexicon;
+
+	/**
+	 * How many points each letter is worth, letterValues[c - 'A'].
+	 */
+	private int[] letterValues;
+
+	/**
+	 * The scorer for the last layout moves were found on.
+	 */
+	private volatile Scorer scorer;
+
+	/**
+	 * Where searches are run, or null to run them on the calling
+	 * thread.
+	 */
+	private ForkJoinPool pool;
+
+	/**
+	 * Each thread's MoveGenerator, so its buffers are made once
+	 * and used for every search on that thread.
+	 */
+	private ThreadLocal<MoveGenerator> generators;
+
+	/**
+	 * The moves found for recent positions, or null to always
+	 * search.
+	 */
+	private MoveCache cache;
+
+	/**
+	 * At most how many anchors one task searches, before the rest
+	 * are handed to other threads. A few anchors are enough to be
+	 * worth a task; fewer leaves more to steal when some anchors
+	 * take much longer than others.
+	 */
+	private static final int ANCHORS_PER_TASK = 4;
+
+	/**
+	 * @param letterValues How many points each letter is worth,
+	 * letterValues[c - 'A']. Blanks are never worth anything.
+	 */
+	public Engine(Lexicon lexicon, int[] letterValues)
+	{
+		this(lexicon, letterValues, null);
+	}
+
+	/**
+	 * @param pool Where to search, split up between its threads.
+	 * If null, searches run on the calling thread.
+	 */
+	public Engine(Lexicon lexicon, int[] letterValues, ForkJoinPool pool)
+	{
+		this(lexicon, letterValues, pool, null);
+	}
+
+	/**
+	 * @param leaves If not null, moves are ranked by their score
+	 * plus what the tiles they leave in the rack are worth, rather
+	 * than by their score alone.
+	 */
+	public Engine(Lexicon lexicon, int[] letterValues, ForkJoinPool pool, LeaveTable leaves)
+	{
+		this(lexicon, letterValues, pool, leaves, null);
+	}
+
+	/**
+	 * @param cache If not null, the moves found are remembered
+	 * there, and looked up before searching.
+	 */
+	public Engine(Lexicon lexicon, int[] letterValues, ForkJoinPool pool,
+			LeaveTable leaves, MoveCache cache)
+	{
+		this.lexicon = lexicon;
+		this.letterValues = letterValues.clone();
+		this.pool = pool;
+		this.cache = cache;
+		generators = ThreadLocal.withInitial(() -> new MoveGenerator(
+				lexicon.getGaddag(), lexicon.getDictionary(), leaves));
+	}
+
+	/**
+	 * Finds every move the rack can make on the board, best first.
+	 */
+	public Move[] findMoves(Grid grid, Rack rack)
+	{
+		return findMoves(grid, rack, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Finds the best moves the rack can make on the board, best
+	 * first (by equity, see Move).
+	 * @param limit How many moves to keep, at most.
+	 */
+	public Move[] findMoves(Grid grid, Rack rack, int limit)
+	{
+		if (cache != null)
+		{
+			Move[] moves = cache.get(grid, rack, limit);
+			if (moves == null)
+			{
+				moves = search(grid, rack, limit);
+				cache.put(grid, rack, moves, limit);
+			}
+			return moves;
+		}
+		return search(grid, rack, limit);
+	}
+
+	/**
+	 * The moves a search with a time limit found.
+	 */
+	public static class Result
+	{
+		/**
+		 * The best moves found, best first.
+		 */
+		final Move[] moves;
+
+		/**
+		 * Whether every anchor was searched before the time ran
+		 * out, so these are the best moves there are.
+		 */
+		final boolean complete;
+
+		Result(Move[] moves, boolean complete)
+		{
+			this.moves = moves;
+			this.complete = complete;
+		}
+	}
+
+	/**
+	 * Finds the best moves the rack can make on the board, but
+	 * only for as long as it's given. The most promising anchors
+	 * are searched first (see orderAnchors), so if the time runs
+	 * out, the best moves have usually been found already.
+	 * @param limit How many moves to keep, at most.
+	 * @param millis About how long to take. The search checks the
+	 * clock as it goes, so it stops very soon after.
+	 */
+	public Result findMoves(Grid grid, Rack rack, int limit, long millis)
+	{
+		long deadline = System.nanoTime() + millis * 1_000_000;
+		if (cache != null)
+		{
+			Move[] moves = cache.get(grid, rack, limit);
+			if (moves != null)
+			{
+				return new Result(moves, true);
+			}
+		}
+
+		long start = System.nanoTime();
+		TimedSearch search = new TimedSearch(grid,
+				new CrossChecks(grid, lexicon.getDictionary()),
+				getScorer(grid.getLayout()), rack, limit,
+				orderAnchors(grid, rack.size()), deadline,
+				pool == null ? 1 : pool.getParallelism());
+		TopMoves best = pool == null ?
+				search.compute() : pool.invoke(search);
+
+		Move[] moves = best.toArray();
+		SearchMetrics.get().addGeneration(System.nanoTime() - start);
+		boolean complete = !search.cut.get();
+		if (cache != null && complete)
+		{
+			cache.put(grid, rack, moves, limit);
+		}
+		return new Result(moves, complete);
+	}
+
+	/**
+	 * The anchors, the most promising first. What an anchor looks
+	 * to be worth comes from the empty spaces within reach of it
+	 * (as many spaces as there are tiles in the rack) across and
+	 * down: the premium squares among them, and the ones with a
+	 * letter beside them the other way, where a tile would make a
+	 * second word and score it too. Anchors worth the same stay in
+	 * board order.
+	 */
+	private static int[] orderAnchors(Grid grid, int reach)
+	{
+		int[] anchors = grid.getAnchors();
+
+		// The value, negated so the best sort first, over the
+		// index, so the order is the same every time.
+		long[] keyed = new long[anchors.length];
+		for (int k = 0; k < anchors.length; k++)
+		{
+			int x = anchors[k] % grid.getWidth(), y = anchors[k] / grid.getWidth();
+			int value = 2 * premium(grid, x, y) +
+					value(grid, x, y, -1, 0, reach) + value(grid, x, y, 1, 0, reach) +
+					value(grid, x, y, 0, -1, reach) + value(grid, x, y, 0, 1, reach);
+			keyed[k] = (long)-value << 32 | k;
+		}
+		Arrays.sort(keyed);
+
+		int[] ordered = new int[anchors.length];
+		for (int k = 0; k < anchors.length; k++)
+		{
+			ordered[k] = anchors[(int)keyed[k]];
+		}
+		return ordered;
+	}
+
+	/**
+	 * What the spaces going from x,y in the direction dx,dy, up to
+	 * reach spaces away, look to be worth. Each premium square is
+	 * worth twice its premium(), and each empty space with a letter
+	 * beside it the other way, where a tile would make a second
+	 * word, is worth 3.
+	 */
+	private static int value(Grid grid, int x, int y, int dx, int dy, int reach)
+	{
+		int value = 0;
+		for (int k = 1; k <= reach && grid.get(x + k*dx, y + k*dy) != '~'; k++)
+		{
+			int cx = x + k*dx, cy = y + k*dy;
+			if (!grid.hasLetter(cx, cy))
+			{
+				value += 2 * premium(grid, cx, cy);
+				if (grid.hasLetter(cx + dy, cy + dx) || grid.hasLetter(cx - dy, cy - dx))
+				{
+					value += 3;
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * How much a premium square is worth, if nothing has been
+	 * played on it: a triple word three times as much as a double
+	 * letter, a double word or triple letter twice.
+	 */
+	private static int premium(Grid grid, int x, int y)
+	{
+		if (grid.hasLetter(x, y))
+		{
+			return 0;
+		}
+		switch (grid.getLayout().getModifier(x, y))
+		{
+		case Runner.DOUBLE_LETTER:
+			return 1;
+		case Runner.TRIPLE_LETTER:
+		case Runner.DOUBLE_WORD:
+			return 2;
+		case Runner.TRIPLE_WORD:
+			return 3;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Hands the moves the rack can make to the sink as they're
+	 * found, scored, in no particular order, until the sink says
+	 * to stop. The search runs on the calling thread, and nothing
+	 * is cached.
+	 * @return Whether every move was found, rather than the sink
+	 * stopping the search.
+	 */
+	public boolean findMoves(Grid grid, Rack rack, MoveSink sink)
+	{
+		long start = System.nanoTime();
+		int[] anchors = grid.getAnchors();
+		boolean complete = generators.get().generate(grid,
+				new CrossChecks(grid, lexicon.getDictionary()),
+				anchors, 0, anchors.length, rack,
+				getScorer(grid.getLayout()), sink);
+		SearchMetrics.get().addGeneration(System.nanoTime() - start);
+		return complete;
+	}
+
+	/**
+	 * Whether the rack can make any move at all on the board. It
+	 * stops at the first one found.
+	 */
+	public boolean hasMove(Grid grid, Rack rack)
+	{
+		return !findMoves(grid, rack, move -> false);
+	}
+
+	/**
+	 * The cache, or null if there isn't one.
+	 */
+	public MoveCache getCache()
+	{
+		return cache;
+	}
+
+	private Move[] search(Grid grid, Rack rack, int limit)
+	{
+		long start = System.nanoTime();
+		int[] anchors = grid.getAnchors();
+		Search search = new Search(grid,
+				new CrossChecks(grid, lexicon.getDictionary()),
+				getScorer(grid.getLayout()), rack, limit,
+				anchors, 0, anchors.length);
+		TopMoves best = pool == null ?
+				search.compute() : pool.invoke(search);
+		Move[] moves = best.toArray();
+		SearchMetrics.get().addGeneration(System.nanoTime() - start);
+		return moves;
+	}
+
+	/**
+	 * Returns how many points the move would get on this board.
+	 */
+	public int score(Grid grid, Move move)
+	{
+		return getScorer(grid.getLayout()).score(grid.getLetters(), grid.getBlanks(),
+				move.x, move.y, move.vertical, move.word, move.blanks);
+	}
+
+	/**
+	 * The scorer for boards with this layout. Scorers never change,
+	 * so it doesn't matter if two threads both make one.
+	 */
+	private Scorer getScorer(Layout layout)
+	{
+		Scorer current = scorer;
+		if (current == null || current.getLayout() != layout)
+		{
+			current = new Scorer(layout, letterValues);
+			scorer = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Finds and scores the moves from some of the anchors, keeping
+	 * the best. If there are too many anchors for one task, half
+	 * are forked off for another thread to take.
+	 */
+	private class Search extends RecursiveTask<TopMoves>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private Grid grid;
+		private CrossChecks crossChecks;
+		private Scorer scorer;
+		private Rack rack;
+		private int limit;
+		private int[] anchors;
+		private int from, to;
+
+		Search(Grid grid, CrossChecks crossChecks, Scorer scorer,
+				Rack rack, int limit, int[] anchors, int from, int to)
+		{
+			this.grid = grid;
+			this.crossChecks = crossChecks;
+			this.scorer = scorer;
+			this.rack = rack;
+			this.limit = limit;
+			this.anchors = anchors;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected TopMoves compute()
+		{
+			if (pool != null && to - from > ANCHORS_PER_TASK)
+			{
+				int middle = (from + to) >>> 1;
+				Search left = new Search(grid, crossChecks, scorer,
+						rack, limit, anchors, from, middle);
+				left.fork();
+				TopMoves best = new Search(grid, crossChecks, scorer,
+						rack, limit, anchors, middle, to).compute();
+				best.addAll(left.join());
+				return best;
+			}
+
+			TopMoves best = new TopMoves(limit);
+			generators.get().generate(grid, crossChecks, anchors, from, to,
+					rack, scorer, best);
+			return best;
+		}
+	}
+
+	/**
+	 * Searches anchors, in order, until they've all been searched
+	 * or the time is up. Anchors are handed out one at a time from
+	 * next, so with several threads the ones searched are still
+	 * the first ones, not a few from each thread's share.
+	 */
+	private class TimedSearch extends RecursiveTask<TopMoves>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private Grid grid;
+		private CrossChecks crossChecks;
+		private Scorer scorer;
+		private Rack rack;
+		private int limit;
+		private int[] anchors;
+		private long deadline;
+
+		/**
+		 * How many more searches to fork off to search alongside
+		 * this one.
+		 */
+		private int helpers;
+
+		/**
+		 * The next anchor to search, shared by every thread.
+		 */
+		private AtomicInteger next;
+
+		/**
+		 * Set if any thread ran out of time.
+		 */
+		final AtomicBoolean cut;
+
+		TimedSearch(Grid grid, CrossChecks crossChecks, Scorer scorer,
+				Rack rack, int limit, int[] anchors, long deadline, int threads)
+		{
+			this(grid, crossChecks, scorer, rack, limit, anchors, deadline,
+					threads - 1, new AtomicInteger(), new AtomicBoolean());
+		}
+
+		private TimedSearch(Grid grid, CrossChecks crossChecks, Scorer scorer,
+				Rack rack, int limit, int[] anchors, long deadline,
+				int helpers, AtomicInteger next, AtomicBoolean cut)
+		{
+			this.grid = grid;
+			this.crossChecks = crossChecks;
+			this.scorer = scorer;
+			this.rack = rack;
+			this.limit = limit;
+			this.anchors = anchors;
+			this.deadline = deadline;
+			this.helpers = helpers;
+			this.next = next;
+			this.cut = cut;
+		}
+
+		@Override
+		protected TopMoves compute()
+		{
+			TimedSearch[] forked = new TimedSearch[helpers];
+			for (int k = 0; k < helpers; k++)
+			{
+				forked[k] = new TimedSearch(grid, crossChecks, scorer, rack,
+						limit, anchors, deadline, 0, next, cut);
+				forked[k].fork();
+			}
+
+			TopMoves best = new TopMoves(limit);
+			MoveGenerator generator = generators.get();
+			generator.setDeadline(deadline);
+			try
+			{
+				for (int k = next.getAndIncrement(); k < anchors.length; k = next.getAndIncrement())
+				{
+					if (!generator.generate(grid, crossChecks, anchors, k, k + 1,
+							rack, scorer, best))
+					{
+						cut.set(true);
+						break;
+					}
+				}
+			}
+			finally
+			{
+				generator.clearDeadline();
+			}
+
+			for (TimedSearch search : forked)
+			{
+				best.addAll(search.join());
+			}
+			return best;
+		}
+	}
+
+	/**
+	 * Reads a letter points file (each line a letter and how many
+	 * points it is worth) into an array for the Engine.
+	 */
+	public static int[] readLetterValues(String fileName)
+	{
+		int[] values = new int[Runner.ALPHABET.length];
+
+		Scanner scanner = null;
+		try
+		{
+			scanner = new Scanner(new File(fileName));
+		}
+		catch (FileNotFoundException ex)
+		{
+			ex.printStackTrace();
+			System.exit(0);
+		}
+
+		while (scanner.hasNext())
+		{
+			char letter = Character.toUpperCase(scanner.next().charAt(0));
+			int points = scanner.nextInt();
+			if (letter >= 'A' && letter <= 'Z')
+			{
+				values[letter - 'A'] = points;
+			}
+		}
+		scanner.close();
+
+		return values;
+	}
+}
@@ -10,7 +10,6 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import java.io.File;
-import java.util.LinkedList;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
@@ -271,9 +270,9 @@ public class Frame extends JFrame implements ActionListener, MouseWheelListener
 	/**
 	 * Returns the letters in the Robot's rack.
 	 */
-	public LinkedList<Character> getRobotRack()
+	public Rack getRobotRack()
 	{
-		LinkedList<Character> letters = new LinkedList<>(); 
+		Rack letters = new Rack(); 
 		
 		for (JTextField field : robotLetters)
 		{
@@ -281,7 +280,7 @@ public class Frame extends JFrame implements ActionListener, MouseWheelListener
 			if (text.length() > 0)
 			{
 				char letter = text.toUpperCase().charAt(0); 
-				if (Character.isLetter(letter) || letter == '?')
+				if ((letter >= 'A' && letter <= 'Z') || letter == Rack.BLANK_CHAR)
 					letters.add(letter); 
 			}
 		}
@@ -324,7 +323,7 @@ public class Frame extends JFrame implements ActionListener, MouseWheelListener
 			{
 				// There must be something in the rack. If there
 				// isn't, ignore this request. 
-				if (getRobotRack().size() == 0)
+				if (getRobotRack().isEmpty())
 				{
 					return; 
 				}
@@ -336,7 +335,9 @@ public class Frame extends JFrame implements ActionListener, MouseWheelListener
 				boardArea.robotMoveStateChanged(robotTurnStarted);
 				robot.makeMove(); 
 				
-				goRightRobot.setEnabled(true);
+				// The robot may not have picked its first move, so
+				// either way could have moves to go to. 
+				setRobotMoveButtons(); 
 			}
 			else 
 			{
@@ -375,23 +376,25 @@ public class Frame extends JFrame implements ActionListener, MouseWheelListener
 		}
 		else if (event.getSource() == goLeftRobot)
 		{
-			goRightRobot.setEnabled(true);
 			robot.changeMove(true);
-			if (robot.getIndex() == 0)
-			{
-				goLeftRobot.setEnabled(false); 
-			}
+			setRobotMoveButtons(); 
 		}
 		else if (event.getSource() == goRightRobot)
 		{
-			goLeftRobot.setEnabled(true);
 			robot.changeMove(false);
-			if (robot.getIndex() == robot.getLength()-1)
-			{
-				goRightRobot.setEnabled(false);
-			}
+			setRobotMoveButtons(); 
 		}
 	}
+	
+	/**
+	 * Lets the user go left or right through the robot's moves
+	 * only if there's a move that way. 
+	 */
+	private void setRobotMoveButtons()
+	{
+		goLeftRobot.setEnabled(robot.getIndex() > 0);
+		goRightRobot.setEnabled(robot.getIndex() < robot.getLength()-1);
+	}
 
 	@Override
 	public void mouseWheelMoved(MouseWheelEvent e) 
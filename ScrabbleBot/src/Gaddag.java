@@ -0,0 +1,92 @@
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * A GADDAG of the dictionary. Every word is stored once for each
+ * of its letters: starting at that letter, the letters before it
+ * are read backwards, then a SEPARATOR, then the letters after it
+ * going forwards. "CARS" is stored as "C[ARS", "AC[RS", "RAC[S" and
+ * "SRAC". This lets a word be grown outwards from any letter in it,
+ * left first and then right, instead of always from its first
+ * letter.
+ */
+public class Gaddag extends Automaton
+{
+	/**
+	 * Marks the switch from going left to going right. It sorts
+	 * right after 'Z', so it is symbol 26.
+	 */
+	public static final char SEPARATOR = (char)('Z' + 1);
+
+	private static final int SYMBOLS = Runner.ALPHABET.length + 1;
+
+	public Gaddag(String sourceFileName)
+	{
+		this(Trie.readWords(sourceFileName));
+	}
+
+	/**
+	 * @param words The words to put in the GADDAG, in
+	 * alphabetical order.
+	 */
+	public Gaddag(ArrayList<String> words)
+	{
+		super(build(words), SYMBOLS);
+	}
+
+	/**
+	 * Uses a GADDAG read out of a compiled lexicon.
+	 */
+	Gaddag(int root, IntBuffer masks, IntBuffer firsts, IntBuffer targets)
+	{
+		super(SYMBOLS, root, masks, firsts, targets);
+	}
+
+	private static DawgBuilder build(ArrayList<String> words)
+	{
+		DawgBuilder builder = new DawgBuilder(SYMBOLS);
+
+		// The paths have to go in sorted, but sorting all of them
+		// at once would take a lot of memory. Every path starting
+		// with 'A' sorts before every path starting with 'B', so
+		// we only need to sort one starting letter at a time.
+		ArrayList<String> paths = new ArrayList<>();
+		StringBuilder path = new StringBuilder();
+		for (char first : Runner.ALPHABET)
+		{
+			paths.clear();
+			for (String word : words)
+			{
+				for (int k = 0; k < word.length(); k++)
+				{
+					if (word.charAt(k) != first)
+					{
+						continue;
+					}
+
+					path.setLength(0);
+					for (int back = k; back >= 0; back--)
+					{
+						path.append(word.charAt(back));
+					}
+					if (k < word.length()-1)
+					{
+						path.append(SEPARATOR);
+						path.append(word, k+1, word.length());
+					}
+					paths.add(path.toString());
+				}
+			}
+
+			Collections.sort(paths);
+			for (String p : paths)
+			{
+				builder.add(p);
+			}
+		}
+
+		builder.finish();
+		return builder;
+	}
+}
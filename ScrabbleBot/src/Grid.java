@@ -0,0 +1,536 @@
+import java.util.Arrays;
+
+/**
+ * The letters on a board at one point in a game. A Grid never
+ * changes once it's made; playing a move on it gives back a new
+ * Grid. This is all the Engine needs to look at to find moves, so
+ * moves can be found without a Board (or Swing) at all.
+ *
+ * A Grid also keeps track of the anchors (the empty spaces a word
+ * can be built from) and how far left, or up, a word may be built
+ * from each of them. Which spaces have letters, and which are
+ * anchors, are kept as bitboards: a long for each row, bit x for
+ * column x, and a long for each column, bit y for row y (a board is
+ * never more than Layout.MAX_SIZE across). So a whole row's anchors
+ * are a few shifts and masks, and only the rows and columns around
+ * a new tile are worked out again when it is placed.
+ */
+public final class Grid
+{
+	private final Layout layout;
+
+	private final int width, height;
+
+	/**
+	 * The letter on every space, y * width + x, or Runner.EMPTY if
+	 * there isn't one.
+	 */
+	private final char[] letters;
+
+	/**
+	 * Which of the letters are blank tiles standing in for a
+	 * letter. They aren't worth any points.
+	 */
+	private final boolean[] blanks;
+
+	/**
+	 * How many tiles are on the board.
+	 */
+	private int tileCount;
+
+	/**
+	 * Which spaces have a letter: bit x of rows[y], and bit y of
+	 * columns[x], are set if x,y does.
+	 */
+	private final long[] rows, columns;
+
+	/**
+	 * Which spaces are anchors (empty spaces next to a letter, or
+	 * the start space if the board is empty), the same way.
+	 */
+	private final long[] anchorRows, anchorColumns;
+
+	/**
+	 * The Zobrist keys (see Zobrist) for the tiles on the board,
+	 * and for the premium squares nothing has been played on yet.
+	 * Each is patched as a tile is placed.
+	 */
+	private long key, premiumKey;
+
+	/**
+	 * Creates an empty board.
+	 */
+	public Grid(Layout layout)
+	{
+		this.layout = layout;
+		width = layout.getWidth();
+		height = layout.getHeight();
+		letters = new char[width * height];
+		blanks = new boolean[width * height];
+		Arrays.fill(letters, Runner.EMPTY);
+		tileCount = 0;
+		premiumKey = findPremiumKey();
+
+		rows = new long[height];
+		columns = new long[width];
+		anchorRows = new long[height];
+		anchorColumns = new long[width];
+		findAnchors();
+	}
+
+	/**
+	 * Creates a board with these letters on it.
+	 * @param board The letters, board[x][y]. Runner.EMPTY and '~'
+	 * are spaces without a letter.
+	 * @param blankTiles Which letters are blanks, blankTiles[x][y].
+	 * May be null if none are.
+	 */
+	public Grid(Layout layout, char[][] board, boolean[][] blankTiles)
+	{
+		this.layout = layout;
+		width = layout.getWidth();
+		height = layout.getHeight();
+		letters = new char[width * height];
+		blanks = new boolean[width * height];
+		rows = new long[height];
+		columns = new long[width];
+
+		int count = 0;
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				char c = board[x][y];
+				if (c == '~' || c == Runner.EMPTY)
+				{
+					letters[y * width + x] = Runner.EMPTY;
+				}
+				else
+				{
+					letters[y * width + x] = Character.toUpperCase(c);
+					blanks[y * width + x] =
+							blankTiles != null && blankTiles[x][y];
+					key ^= Zobrist.tile(x, y, letters[y * width + x], blanks[y * width + x]);
+					rows[y] |= 1L << x;
+					columns[x] |= 1L << y;
+					count++;
+				}
+			}
+		}
+		tileCount = count;
+		premiumKey = findPremiumKey();
+
+		anchorRows = new long[height];
+		anchorColumns = new long[width];
+		findAnchors();
+	}
+
+	/**
+	 * A copy of the grid that tiles can be placed on, before it's
+	 * handed out.
+	 */
+	private Grid(Grid from)
+	{
+		layout = from.layout;
+		width = from.width;
+		height = from.height;
+		letters = from.letters.clone();
+		blanks = from.blanks.clone();
+		tileCount = from.tileCount;
+		rows = from.rows.clone();
+		columns = from.columns.clone();
+		anchorRows = from.anchorRows.clone();
+		anchorColumns = from.anchorColumns.clone();
+		key = from.key;
+		premiumKey = from.premiumKey;
+	}
+
+	public Layout getLayout()
+	{
+		return layout;
+	}
+
+	public int getWidth()
+	{
+		return width;
+	}
+
+	public int getHeight()
+	{
+		return height;
+	}
+
+	/**
+	 * Returns the letter at x,y, Runner.EMPTY if there isn't one,
+	 * or '~' if x,y can't be played on (or is off the board).
+	 */
+	public char get(int x, int y)
+	{
+		if (!layout.isPlayable(x, y))
+		{
+			return '~';
+		}
+		return letters[y * width + x];
+	}
+
+	/**
+	 * Whether or not there's a letter at x,y.
+	 */
+	public boolean hasLetter(int x, int y)
+	{
+		return x >= 0 && x < width && y >= 0 && y < height &&
+				(rows[y] & (1L << x)) != 0;
+	}
+
+	/**
+	 * Whether or not the letter at x,y is a blank tile.
+	 */
+	public boolean isBlank(int x, int y)
+	{
+		return hasLetter(x, y) && blanks[y * width + x];
+	}
+
+	/**
+	 * The letters on every space, y * width + x, for the Scorer.
+	 * This is the grid's own array, so it mustn't be changed.
+	 */
+	char[] getLetters()
+	{
+		return letters;
+	}
+
+	/**
+	 * Which letters are blanks, y * width + x. Also mustn't be
+	 * changed.
+	 */
+	boolean[] getBlanks()
+	{
+		return blanks;
+	}
+
+	public int getTileCount()
+	{
+		return tileCount;
+	}
+
+	/**
+	 * The spaces in row y with a letter on them: bit x is set if
+	 * x,y has one.
+	 */
+	public long getRow(int y)
+	{
+		return rows[y];
+	}
+
+	/**
+	 * The spaces in column x with a letter on them: bit y is set
+	 * if x,y has one.
+	 */
+	public long getColumn(int x)
+	{
+		return columns[x];
+	}
+
+	/**
+	 * The anchors in row y, bit x for x,y.
+	 */
+	public long getAnchorRow(int y)
+	{
+		return anchorRows[y];
+	}
+
+	/**
+	 * The anchors in column x, bit y for x,y.
+	 */
+	public long getAnchorColumn(int x)
+	{
+		return anchorColumns[x];
+	}
+
+	/**
+	 * The empty spaces a word can be built from: every empty
+	 * space next to a letter. If the board is empty, that's only
+	 * the start space. Spaces are given as y * width + x.
+	 */
+	public int[] getAnchors()
+	{
+		int count = 0;
+		for (long row : anchorRows)
+		{
+			count += Long.bitCount(row);
+		}
+		int[] found = new int[count];
+		count = 0;
+		for (int y = 0; y < height; y++)
+		{
+			for (long row = anchorRows[y]; row != 0; row &= row - 1)
+			{
+				found[count++] = y * width + Long.numberOfTrailingZeros(row);
+			}
+		}
+		return found;
+	}
+
+	public boolean isAnchor(int x, int y)
+	{
+		return x >= 0 && x < width && y >= 0 && y < height &&
+				(anchorRows[y] & (1L << x)) != 0;
+	}
+
+	/**
+	 * How many tiles a word built from the anchor at x,y may put
+	 * before it: to the left if the word goes across, or above it
+	 * if it goes down (vertical). That's how many empty spaces come
+	 * right before it that aren't anchors themselves; any further
+	 * and the word would go through another anchor, and is found
+	 * from that one instead.
+	 */
+	public int getLeftLimit(int x, int y, boolean vertical)
+	{
+		if (!isAnchor(x, y))
+		{
+			return 0;
+		}
+		return vertical ?
+				run(layout.getPlayableColumn(x) & ~columns[x] & ~anchorColumns[x], y) :
+				run(layout.getPlayableRow(y) & ~rows[y] & ~anchorRows[y], x);
+	}
+
+	/**
+	 * How many set bits there are in a row right below bit.
+	 */
+	private static int run(long free, int bit)
+	{
+		if (bit == 0)
+		{
+			return 0;
+		}
+		// Bit - 1 goes to the top, and everything from bit up is
+		// shifted out.
+		return Long.numberOfLeadingZeros(~(free << (Long.SIZE - bit)));
+	}
+
+	/**
+	 * Returns the board after the move has been played on it.
+	 */
+	public Grid play(Move move)
+	{
+		Grid grid = new Grid(this);
+		for (int index = 0; index < move.length(); index++)
+		{
+			int x = move.getX(index), y = move.getY(index);
+			char letter = move.word.charAt(index);
+
+			int space = y * width + x;
+			if (letters[space] == Runner.EMPTY)
+			{
+				grid.place(x, y, letter, move.isBlank(index));
+			}
+			else if (letters[space] != letter)
+			{
+				throw new IllegalArgumentException(move +
+						" doesn't fit on the board at " + x + "," + y);
+			}
+		}
+		return grid;
+	}
+
+	/**
+	 * Returns the board after tiles have been put on these spaces.
+	 * @param spaces The spaces, y * width + x.
+	 * @param board The letters, board[x][y], including the ones on
+	 * the new spaces.
+	 * @param blankTiles Which letters are blanks, blankTiles[x][y].
+	 * May be null if none are.
+	 */
+	public Grid place(int[] spaces, char[][] board, boolean[][] blankTiles)
+	{
+		Grid grid = new Grid(this);
+		for (int space : spaces)
+		{
+			int x = space % width, y = space / width;
+			if (letters[space] != Runner.EMPTY)
+			{
+				throw new IllegalArgumentException(
+						"There's already a letter at " + x + "," + y);
+			}
+			grid.place(x, y, Character.toUpperCase(board[x][y]),
+					blankTiles != null && blankTiles[x][y]);
+		}
+		return grid;
+	}
+
+	/**
+	 * Puts a tile on this grid, and fixes the anchors around it.
+	 * Only used on a new grid before it's handed out.
+	 */
+	private void place(int x, int y, char letter, boolean blank)
+	{
+		int space = y * width + x;
+		if (tileCount == 0)
+		{
+			// The start space is no longer an anchor unless it's
+			// next to this tile.
+			int startX = layout.getStartX(), startY = layout.getStartY();
+			anchorRows[startY] &= ~(1L << startX);
+			anchorColumns[startX] &= ~(1L << startY);
+		}
+		letters[space] = letter;
+		blanks[space] = blank;
+		tileCount++;
+
+		key ^= Zobrist.tile(x, y, letter, blank);
+		if (isPremium(x, y))
+		{
+			premiumKey ^= Zobrist.premium(x, y);
+		}
+
+		rows[y] |= 1L << x;
+		columns[x] |= 1L << y;
+
+		// Only the anchors in these rows and columns could have
+		// changed.
+		for (int row = Math.max(0, y - 1); row <= Math.min(height - 1, y + 1); row++)
+		{
+			findAnchorRow(row);
+		}
+		for (int col = Math.max(0, x - 1); col <= Math.min(width - 1, x + 1); col++)
+		{
+			findAnchorColumn(col);
+		}
+	}
+
+	/**
+	 * The key for the premium squares without a letter on them.
+	 */
+	private long findPremiumKey()
+	{
+		long premiums = 0;
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				if (isPremium(x, y) && letters[y * width + x] == Runner.EMPTY)
+				{
+					premiums ^= Zobrist.premium(x, y);
+				}
+			}
+		}
+		return premiums;
+	}
+
+	private boolean isPremium(int x, int y)
+	{
+		switch (layout.getModifier(x, y))
+		{
+		case Runner.DOUBLE_LETTER:
+		case Runner.TRIPLE_LETTER:
+		case Runner.DOUBLE_WORD:
+		case Runner.TRIPLE_WORD:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Works out every anchor from scratch.
+	 */
+	private void findAnchors()
+	{
+		for (int y = 0; y < height; y++)
+		{
+			findAnchorRow(y);
+		}
+		for (int x = 0; x < width; x++)
+		{
+			findAnchorColumn(x);
+		}
+		if (tileCount == 0)
+		{
+			int startX = layout.getStartX(), startY = layout.getStartY();
+			anchorRows[startY] |= 1L << startX;
+			anchorColumns[startX] |= 1L << startY;
+		}
+	}
+
+	/**
+	 * The anchors in row y: the playable empty spaces with a letter
+	 * beside them in the row, or above or below them.
+	 */
+	private void findAnchorRow(int y)
+	{
+		long row = rows[y];
+		long next = row << 1 | row >>> 1 |
+				(y > 0 ? rows[y-1] : 0) | (y < height - 1 ? rows[y+1] : 0);
+		anchorRows[y] = next & ~row & layout.getPlayableRow(y);
+	}
+
+	/**
+	 * The same, for column x.
+	 */
+	private void findAnchorColumn(int x)
+	{
+		long column = columns[x];
+		long next = column << 1 | column >>> 1 |
+				(x > 0 ? columns[x-1] : 0) | (x < width - 1 ? columns[x+1] : 0);
+		anchorColumns[x] = next & ~column & layout.getPlayableColumn(x);
+	}
+
+	/**
+	 * The Zobrist key for the tiles on the board: which letters are
+	 * where, and which are blanks. Two grids with the same tiles on
+	 * the same layout have the same key.
+	 */
+	public long getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * The Zobrist key for the premium squares that haven't been
+	 * played on yet.
+	 */
+	public long getPremiumKey()
+	{
+		return premiumKey;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Long.hashCode(key);
+	}
+
+	/**
+	 * Whether the other grid has the same tiles on the same layout.
+	 */
+	@Override
+	public boolean equals(Object other)
+	{
+		if (!(other instanceof Grid))
+		{
+			return false;
+		}
+		Grid grid = (Grid)other;
+		return key == grid.key && layout == grid.layout &&
+				Arrays.equals(letters, grid.letters) &&
+				Arrays.equals(blanks, grid.blanks);
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder str = new StringBuilder();
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				char c = get(x, y);
+				str.append(isBlank(x, y) ? Character.toLowerCase(c) : c);
+			}
+			str.append('\n');
+		}
+		return str.toString();
+	}
+}
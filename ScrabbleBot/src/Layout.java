@@ -0,0 +1,246 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Scanner;
+
+/**
+ * The layout of a board: how big it is, which spaces can be played
+ * on, and which spaces have a modifier. This never changes during a
+ * game, and doesn't know anything about Swing, so the same layout
+ * can be shared by the Board on screen and by the Engine.
+ */
+public final class Layout
+{
+	/**
+	 * The most spaces a board can be across or down. A word can
+	 * be as long as the board, a Move keeps one bit per letter in
+	 * a long, and a whole row or column of the board fits in the
+	 * bits of a long (see Grid).
+	 */
+	public static final int MAX_SIZE = Long.SIZE;
+
+	private final int width, height;
+
+	/**
+	 * The modifier of every space, y * width + x. 0 is no modifier,
+	 * otherwise it is one of Runner.DOUBLE_LETTER, TRIPLE_LETTER,
+	 * DOUBLE_WORD, TRIPLE_WORD or START.
+	 */
+	private final int[] modifiers;
+
+	/**
+	 * Which spaces can have a letter put on them, as bitboards:
+	 * bit x of playableRows[y] and bit y of playableColumns[x] are
+	 * set if x,y can.
+	 */
+	private final long[] playableRows, playableColumns;
+
+	/**
+	 * The space the first word has to go through.
+	 */
+	private final int startX, startY;
+
+	/**
+	 * Creates a layout with no modifiers where every space can be
+	 * played on. The first word goes through the middle.
+	 */
+	public Layout(int width, int height)
+	{
+		if (width > MAX_SIZE || height > MAX_SIZE)
+		{
+			throw new IllegalArgumentException("A board can't be bigger than " +
+					MAX_SIZE + " by " + MAX_SIZE);
+		}
+		this.width = width;
+		this.height = height;
+		modifiers = new int[width * height];
+		boolean[] playable = new boolean[width * height];
+		Arrays.fill(playable, true);
+		playableRows = rows(width, height, playable);
+		playableColumns = columns(width, height, playable);
+		startX = width / 2;
+		startY = height / 2;
+	}
+
+	private Layout(int width, int height, int[] modifiers,
+			boolean[] playable, int startX, int startY)
+	{
+		this.width = width;
+		this.height = height;
+		this.modifiers = modifiers;
+		playableRows = rows(width, height, playable);
+		playableColumns = columns(width, height, playable);
+		this.startX = startX;
+		this.startY = startY;
+	}
+
+	private static long[] rows(int width, int height, boolean[] spaces)
+	{
+		long[] rows = new long[height];
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				if (spaces[y * width + x])
+				{
+					rows[y] |= 1L << x;
+				}
+			}
+		}
+		return rows;
+	}
+
+	private static long[] columns(int width, int height, boolean[] spaces)
+	{
+		long[] columns = new long[width];
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				if (spaces[y * width + x])
+				{
+					columns[x] |= 1L << y;
+				}
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Reads a layout out of a board file. The first two numbers in
+	 * the file are the width and height. After that comes one key
+	 * per space: _ is a playable empty space, ~ is a space that
+	 * can't be played on, DL/TL/DW/TW are modifiers and + is the
+	 * start space. If there's no + the first word goes through the
+	 * middle of the board.
+	 */
+	public static Layout load(File data)
+	{
+		Scanner scanner = null;
+		try
+		{
+			scanner = new Scanner(data);
+		}
+		catch (FileNotFoundException ex)
+		{
+			ex.printStackTrace();
+			System.exit(0);
+		}
+
+		int width = scanner.nextInt(), height = scanner.nextInt();
+		if (width > MAX_SIZE || height > MAX_SIZE)
+		{
+			System.out.println(data + " is bigger than " +
+					MAX_SIZE + " by " + MAX_SIZE + ".");
+			System.exit(0);
+		}
+		int[] modifiers = new int[width * height];
+		boolean[] playable = new boolean[width * height];
+		int startX = width / 2, startY = height / 2;
+
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				String key = scanner.next();
+				int index = y * width + x;
+				playable[index] = !key.equals("~");
+
+				if (key.equals("_") || key.equals("~"))
+				{
+					// Nothing else to do here.
+				}
+				else if (key.equals("DL"))
+				{
+					modifiers[index] = Runner.DOUBLE_LETTER;
+				}
+				else if (key.equals("TL"))
+				{
+					modifiers[index] = Runner.TRIPLE_LETTER;
+				}
+				else if (key.equals("DW"))
+				{
+					modifiers[index] = Runner.DOUBLE_WORD;
+				}
+				else if (key.equals("TW"))
+				{
+					modifiers[index] = Runner.TRIPLE_WORD;
+				}
+				else if (key.equals("+"))
+				{
+					modifiers[index] = Runner.START;
+					startX = x;
+					startY = y;
+				}
+				else
+				{
+					System.out.println(
+							key + " is not an accepted tile.");
+					System.exit(0);
+				}
+			}
+		}
+		scanner.close();
+
+		return new Layout(width, height, modifiers, playable, startX, startY);
+	}
+
+	public int getWidth()
+	{
+		return width;
+	}
+
+	public int getHeight()
+	{
+		return height;
+	}
+
+	/**
+	 * Whether or not x,y is on the board and can have a letter
+	 * put on it.
+	 */
+	public boolean isPlayable(int x, int y)
+	{
+		return x >= 0 && x < width && y >= 0 && y < height &&
+				(playableRows[y] & (1L << x)) != 0;
+	}
+
+	/**
+	 * The spaces in row y that can be played on: bit x is set if
+	 * x,y can.
+	 */
+	public long getPlayableRow(int y)
+	{
+		return playableRows[y];
+	}
+
+	/**
+	 * The spaces in column x that can be played on: bit y is set
+	 * if x,y can.
+	 */
+	public long getPlayableColumn(int x)
+	{
+		return playableColumns[x];
+	}
+
+	/**
+	 * Returns the modifier at x,y, or 0 if there isn't one.
+	 */
+	public int getModifier(int x, int y)
+	{
+		return modifiers[y * width + x];
+	}
+
+	/**
+	 * The space the first word has to go through.
+	 */
+	public int getStartX()
+	{
+		return startX;
+	}
+
+	public int getStartY()
+	{
+		return startY;
+	}
+}
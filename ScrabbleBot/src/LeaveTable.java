@@ -0,0 +1,288 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * How many points the tiles left in a rack after a move are worth,
+ * for every leave there can be (up to six tiles, any of them
+ * blanks). Keeping an S or a blank makes the next turn better;
+ * keeping a Q, or three I's, makes it worse.
+ *
+ * Every leave has a number, its rank, so the table is just one byte
+ * per leave, about a megabyte in all. The tiles in a leave, in
+ * order, t1 <= t2 <= ... <= tk (as in Rack, blanks last), are
+ * spread out to c_i = t_i + i - 1, which never repeat. Then the
+ * rank is the number of leaves with fewer tiles, plus C(c_1, 1) +
+ * C(c_2, 2) + ... + C(c_k, k) (the combinatorial number system).
+ * Looking up a leave is a handful of additions, with no hashing or
+ * searching.
+ *
+ * The values are worked out offline by playing games robot against
+ * robot (run this class). Every time a rack is played, the points
+ * it scored count towards every part of that rack that could have
+ * been a leave: a leave's value is how much better than average the
+ * racks holding it did.
+ */
+public class LeaveTable
+{
+	/**
+	 * "SBLV", the first four bytes of every leave table file.
+	 */
+	public static final int MAGIC = 0x56_4C_42_53;
+
+	public static final int VERSION = 1;
+
+	/**
+	 * The most tiles a leave can have. A move plays at least one.
+	 */
+	public static final int MAX_LEAVE = Runner.MAX_LETTERS_IN_RACK - 1;
+
+	private static final int TILES = Rack.BLANK + 1;
+
+	/**
+	 * CHOOSE[n][k] is n choose k.
+	 */
+	private static final int[][] CHOOSE = new int[TILES + MAX_LEAVE][MAX_LEAVE + 1];
+
+	/**
+	 * The rank of the first leave with k tiles.
+	 */
+	private static final int[] FIRST = new int[MAX_LEAVE + 2];
+
+	/**
+	 * How many leaves there are, of every size up to MAX_LEAVE.
+	 */
+	public static final int SIZE;
+
+	static
+	{
+		for (int n = 0; n < CHOOSE.length; n++)
+		{
+			CHOOSE[n][0] = 1;
+			for (int k = 1; k <= MAX_LEAVE && k <= n; k++)
+			{
+				CHOOSE[n][k] = CHOOSE[n-1][k-1] + CHOOSE[n-1][k];
+			}
+		}
+		for (int k = 0; k <= MAX_LEAVE; k++)
+		{
+			// Multisets of k out of TILES kinds of tile.
+			FIRST[k+1] = FIRST[k] + CHOOSE[TILES + k - 1][k];
+		}
+		SIZE = FIRST[MAX_LEAVE + 1];
+	}
+
+	/**
+	 * How many made-up racks, averaging zero points better than
+	 * any other, every leave starts out with. Leaves that hardly
+	 * ever come up stay near zero instead of being worth whatever
+	 * the few racks with them happened to score.
+	 */
+	private static final int PRIOR_RACKS = 20;
+
+	private byte[] values;
+
+	private LeaveTable(byte[] values)
+	{
+		this.values = values;
+	}
+
+	/**
+	 * What the tiles in the rack are worth as a leave, in points.
+	 * A rack too big to be a leave is worth nothing.
+	 */
+	public int value(Rack rack)
+	{
+		if (rack.size() > MAX_LEAVE)
+		{
+			return 0;
+		}
+		return values[rank(rack)];
+	}
+
+	/**
+	 * The rank of a leave (see above).
+	 */
+	static int rank(Rack rack)
+	{
+		int rank = 0, i = 0;
+		for (int letters = rack.letters(); letters != 0; letters &= letters - 1)
+		{
+			int tile = Integer.numberOfTrailingZeros(letters);
+			for (int n = rack.count((char)('A' + tile)); n > 0; n--, i++)
+			{
+				rank += CHOOSE[tile + i][i + 1];
+			}
+		}
+		for (int n = rack.count(Rack.BLANK_CHAR); n > 0; n--, i++)
+		{
+			rank += CHOOSE[Rack.BLANK + i][i + 1];
+		}
+		return FIRST[i] + rank;
+	}
+
+	/**
+	 * The same, for the first length tiles of a sorted array of
+	 * tile indexes (c - 'A', or Rack.BLANK).
+	 */
+	static int rank(int[] tiles, int length)
+	{
+		int rank = 0;
+		for (int i = 0; i < length; i++)
+		{
+			rank += CHOOSE[tiles[i] + i][i + 1];
+		}
+		return FIRST[length] + rank;
+	}
+
+	public static LeaveTable load(File file) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != MAGIC)
+			{
+				throw new IOException(file + " is not a leave table");
+			}
+			int version = in.readInt();
+			if (version != VERSION)
+			{
+				throw new IOException(file + " is version " +
+						version + ", expected " + VERSION);
+			}
+			if (in.readInt() != SIZE)
+			{
+				throw new IOException(file + " is the wrong size");
+			}
+			byte[] values = new byte[SIZE];
+			in.readFully(values);
+			return new LeaveTable(values);
+		}
+	}
+
+	public void save(File file) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(SIZE);
+			out.write(values);
+		}
+	}
+
+	/**
+	 * Adds up, over many racks, the points each leave's racks
+	 * scored. Racks are added from every thread playing games.
+	 */
+	private static class Tally
+	{
+		AtomicLongArray points = new AtomicLongArray(SIZE);
+		AtomicIntegerArray racks = new AtomicIntegerArray(SIZE);
+
+		/**
+		 * The tiles in the rack being added, and the leave being
+		 * counted, as sorted tile indexes.
+		 */
+		private ThreadLocal<int[]> tiles = ThreadLocal.withInitial(
+				() -> new int[Runner.MAX_LETTERS_IN_RACK]);
+		private ThreadLocal<int[]> leave = ThreadLocal.withInitial(
+				() -> new int[MAX_LEAVE]);
+
+		void add(Rack rack, int score)
+		{
+			String held = rack.toString();
+			int[] tiles = this.tiles.get();
+			for (int k = 0; k < held.length(); k++)
+			{
+				tiles[k] = Rack.indexOf(held.charAt(k));
+			}
+			add(tiles, held.length(), 0, leave.get(), 0, score);
+		}
+
+		/**
+		 * Counts the score towards every leave made out of
+		 * tiles[from..] added to the first size tiles of leave.
+		 * Repeated tiles are only taken in order, so every leave is
+		 * only counted once.
+		 */
+		private void add(int[] tiles, int length, int from, int[] leave, int size, int score)
+		{
+			int rank = rank(leave, size);
+			points.addAndGet(rank, score);
+			racks.incrementAndGet(rank);
+
+			if (size == MAX_LEAVE)
+			{
+				return;
+			}
+			for (int k = from; k < length; k++)
+			{
+				if (k > from && tiles[k] == tiles[k-1])
+				{
+					continue;
+				}
+				leave[size] = tiles[k];
+				add(tiles, length, k + 1, leave, size + 1, score);
+			}
+		}
+
+		LeaveTable toTable()
+		{
+			// Every rack holds the empty leave.
+			double average = (double)points.get(0) / Math.max(1, racks.get(0));
+			byte[] values = new byte[SIZE];
+			for (int rank = 0; rank < SIZE; rank++)
+			{
+				double better = (points.get(rank) - racks.get(rank) * average) /
+						(racks.get(rank) + PRIOR_RACKS);
+				values[rank] = (byte)Math.max(Byte.MIN_VALUE,
+						Math.min(Byte.MAX_VALUE, Math.round(better)));
+			}
+			return new LeaveTable(values);
+		}
+	}
+
+	/**
+	 * Works out a leave table by playing games on the board and
+	 * letters set in Runner, and saves it.
+	 * Usage: LeaveTable [games] [threads] [seed] [leave table file]
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		int games = args.length > 0 ?
+				Integer.parseInt(args[0]) : 10_000;
+		int threads = args.length > 1 ?
+				Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long seed = args.length > 2 ?
+				Long.parseLong(args[2]) : 0;
+		File file = new File(args.length > 3 ?
+				args[3] : Runner.LEAVES_FILE_NAME);
+
+		Simulator simulator = new Simulator(
+				Lexicon.load(Runner.DICTIONARY_FILE_NAME),
+				Layout.load(new File(Runner.BOARD_FILE_NAME)),
+				Engine.readLetterValues(Runner.LETTER_POINTS_FILE_NAME),
+				TileBag.readTiles(Runner.LETTER_AMOUNTS_FILE_NAME));
+
+		Tally tally = new Tally();
+		simulator.setObserver((rack, move) ->
+		{
+			tally.add(rack, move == null ? 0 : move.score);
+		});
+		System.out.println(simulator.playAll(games, threads, seed));
+
+		LeaveTable table = tally.toTable();
+		table.save(file);
+		System.out.println("Saved " + SIZE + " leaves from " +
+				tally.racks.get(0) + " racks to " + file);
+	}
+}
@@ -0,0 +1,301 @@
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Everything the robot needs to know about the words it can play:
+ * the dictionary (a DAWG) and the GADDAG built from it.
+ *
+ * Building both out of a word list takes a few seconds, so they can
+ * be compiled once into a lexicon file (run this class with the
+ * word list). A compiled lexicon is mapped into memory and used as
+ * is; nothing in it has to be read or rebuilt.
+ *
+ * The file is little-endian. It starts with a header of ten ints:
+ * MAGIC, VERSION, the CRC32 of everything after the header (as two
+ * ints, low half first), then the root, node count and edge count
+ * of the DAWG and of the GADDAG. After that come the masks, firsts
+ * and targets of the DAWG, then the same for the GADDAG.
+ */
+public class Lexicon
+{
+	/**
+	 * "SBLX", the first four bytes of every compiled lexicon.
+	 */
+	public static final int MAGIC = 0x58_4C_42_53;
+
+	/**
+	 * Changes whenever the layout of a compiled lexicon does.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int HEADER_INTS = 10;
+
+	/**
+	 * Compiled lexicons are named after their word list, with this
+	 * in place of the ".txt".
+	 */
+	public static final String IMAGE_EXTENSION = ".lex";
+
+	/**
+	 * Lexicons that have already been loaded, by file name, so
+	 * every robot shares the same one.
+	 */
+	private static HashMap<String, Lexicon> loaded = new HashMap<>();
+
+	private Trie dictionary;
+
+	private Gaddag gaddag;
+
+	public Lexicon(ArrayList<String> words)
+	{
+		dictionary = new Trie(words);
+		gaddag = new Gaddag(words);
+	}
+
+	private Lexicon(Trie dictionary, Gaddag gaddag)
+	{
+		this.dictionary = dictionary;
+		this.gaddag = gaddag;
+	}
+
+	public Trie getDictionary()
+	{
+		return dictionary;
+	}
+
+	public Gaddag getGaddag()
+	{
+		return gaddag;
+	}
+
+	/**
+	 * Loads the lexicon from either a word list or a compiled
+	 * lexicon. If a word list is given, and a compiled lexicon
+	 * newer than it sits next to it, the compiled one is used.
+	 */
+	public static synchronized Lexicon load(String fileName)
+	{
+		Lexicon lexicon = loaded.get(fileName);
+		if (lexicon != null)
+		{
+			return lexicon;
+		}
+
+		File file = new File(fileName);
+		try
+		{
+			if (isImage(file))
+			{
+				lexicon = map(file);
+			}
+			else
+			{
+				File image = getImageFile(file);
+				if (image.exists() &&
+					image.lastModified() >= file.lastModified() &&
+					isImage(image))
+				{
+					try
+					{
+						lexicon = map(image);
+					}
+					catch (IOException ex)
+					{
+						System.out.println(ex.getMessage() +
+								", rebuilding from " + fileName);
+					}
+				}
+
+				if (lexicon == null)
+				{
+					lexicon = new Lexicon(Trie.readWords(fileName));
+				}
+			}
+		}
+		catch (IOException ex)
+		{
+			ex.printStackTrace();
+			System.exit(0);
+		}
+
+		loaded.put(fileName, lexicon);
+		return lexicon;
+	}
+
+	/**
+	 * Returns where the compiled version of a word list goes.
+	 */
+	public static File getImageFile(File wordList)
+	{
+		String name = wordList.getPath();
+		if (name.endsWith(".txt"))
+		{
+			name = name.substring(0, name.length() - 4);
+		}
+		return new File(name + IMAGE_EXTENSION);
+	}
+
+	/**
+	 * Whether or not the file starts like a compiled lexicon.
+	 */
+	private static boolean isImage(File file) throws IOException
+	{
+		if (file.length() < HEADER_INTS * 4)
+		{
+			return false;
+		}
+		try (DataInputStream in =
+				new DataInputStream(new FileInputStream(file)))
+		{
+			return Integer.reverseBytes(in.readInt()) == MAGIC;
+		}
+	}
+
+	/**
+	 * Maps a compiled lexicon into memory. The DAWG and GADDAG
+	 * read straight out of the mapped file. Unlike load, nothing
+	 * is cached, so every call maps the file again.
+	 */
+	static Lexicon map(File file) throws IOException
+	{
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file.toPath()))
+		{
+			buffer = channel.map(
+					FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		IntBuffer header = buffer.asIntBuffer();
+		if (header.get(0) != MAGIC)
+		{
+			throw new IOException(file + " is not a compiled lexicon");
+		}
+		if (header.get(1) != VERSION)
+		{
+			throw new IOException(file + " is version " +
+					header.get(1) + ", expected " + VERSION);
+		}
+
+		long checksum = (header.get(2) & 0xFFFFFFFFL) |
+				((long)header.get(3) << 32);
+		ByteBuffer body = buffer.duplicate()
+				.position(HEADER_INTS * 4);
+		CRC32 crc = new CRC32();
+		crc.update(body);
+		if (crc.getValue() != checksum)
+		{
+			throw new IOException(file + " is corrupt (bad checksum)");
+		}
+
+		IntBuffer ints = buffer.duplicate()
+				.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+		int at = HEADER_INTS;
+
+		int root = header.get(4), nodes = header.get(5), edges = header.get(6);
+		IntBuffer masks = slice(ints, at, nodes);
+		IntBuffer firsts = slice(ints, at += nodes, nodes);
+		IntBuffer targets = slice(ints, at += nodes, edges);
+		at += edges;
+		Trie dictionary = new Trie(root, masks, firsts, targets);
+
+		root = header.get(7);
+		nodes = header.get(8);
+		edges = header.get(9);
+		masks = slice(ints, at, nodes);
+		firsts = slice(ints, at += nodes, nodes);
+		targets = slice(ints, at += nodes, edges);
+		at += edges;
+		Gaddag gaddag = new Gaddag(root, masks, firsts, targets);
+
+		if (at * 4L != buffer.capacity())
+		{
+			throw new IOException(file + " is the wrong size");
+		}
+
+		return new Lexicon(dictionary, gaddag);
+	}
+
+	private static IntBuffer slice(IntBuffer ints, int start, int length)
+	{
+		IntBuffer slice = ints.duplicate();
+		slice.position(start);
+		slice.limit(start + length);
+		return slice.slice();
+	}
+
+	/**
+	 * Writes this lexicon out as a compiled lexicon.
+	 */
+	public void save(File file) throws IOException
+	{
+		int ints = HEADER_INTS +
+				dictionary.size() * 2 + dictionary.edgeCount() +
+				gaddag.size() * 2 + gaddag.edgeCount();
+		ByteBuffer buffer = ByteBuffer.allocate(ints * 4)
+				.order(ByteOrder.LITTLE_ENDIAN);
+
+		IntBuffer out = buffer.asIntBuffer();
+		out.position(HEADER_INTS);
+		dictionary.write(out);
+		gaddag.write(out);
+
+		CRC32 crc = new CRC32();
+		crc.update(buffer.duplicate().position(HEADER_INTS * 4));
+		long checksum = crc.getValue();
+
+		out.position(0);
+		out.put(MAGIC);
+		out.put(VERSION);
+		out.put((int)checksum);
+		out.put((int)(checksum >>> 32));
+		out.put(dictionary.getRoot());
+		out.put(dictionary.size());
+		out.put(dictionary.edgeCount());
+		out.put(gaddag.getRoot());
+		out.put(gaddag.size());
+		out.put(gaddag.edgeCount());
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+		{
+			raf.setLength(0);
+			while (buffer.hasRemaining())
+			{
+				raf.getChannel().write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Compiles a word list into a lexicon file.
+	 * Usage: Lexicon <word list> [lexicon file]
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		String wordList = args.length > 0 ?
+				args[0] : Runner.DICTIONARY_FILE_NAME;
+		File image = args.length > 1 ?
+				new File(args[1]) : getImageFile(new File(wordList));
+
+		long start = System.currentTimeMillis();
+		Lexicon lexicon = new Lexicon(Trie.readWords(wordList));
+		lexicon.save(image);
+
+		System.out.println("Compiled " + wordList + " into " + image +
+				" (" + image.length() / 1024 + " KB, DAWG " +
+				lexicon.dictionary.size() + " nodes, GADDAG " +
+				lexicon.gaddag.size() + " nodes) in " +
+				(System.currentTimeMillis() - start) + " ms");
+	}
+}
@@ -0,0 +1,156 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * Checks the DAWG and the GADDAG against the word list they're built
+ * from. The DAWG has to hold every word in the list and nothing
+ * else. The GADDAG has to hold every path for every word (see
+ * Gaddag) and nothing else. Both the lexicon built from the list
+ * and the one Lexicon.load gives (which may be compiled) are
+ * checked. Whatever is wrong is printed.
+ *
+ * Run it from the directory above ScrabbleBot.
+ *
+ * Usage: LexiconCheck [word list]
+ */
+public class LexiconCheck
+{
+	/**
+	 * How many problems to print before only counting them.
+	 */
+	private static final int MAX_PRINTED = 20;
+
+	private HashSet<String> words;
+	private long letters;
+	private int problems;
+
+	private LexiconCheck(ArrayList<String> list)
+	{
+		words = new HashSet<>(list);
+		for (String word : words)
+		{
+			letters += word.length();
+		}
+	}
+
+	private void problem(String message)
+	{
+		if (++problems <= MAX_PRINTED)
+		{
+			System.out.println("  " + message);
+		}
+	}
+
+	private void check(String name, Lexicon lexicon)
+	{
+		int before = problems;
+		Trie dictionary = lexicon.getDictionary();
+		Gaddag gaddag = lexicon.getGaddag();
+		StringBuilder path = new StringBuilder();
+		for (String word : words)
+		{
+			if (!dictionary.contains(word))
+			{
+				problem(word + " isn't in the DAWG");
+			}
+			for (int k = 0; k < word.length(); k++)
+			{
+				path.setLength(0);
+				for (int back = k; back >= 0; back--)
+				{
+					path.append(word.charAt(back));
+				}
+				if (k < word.length() - 1)
+				{
+					path.append(Gaddag.SEPARATOR);
+					path.append(word, k + 1, word.length());
+				}
+				if (!accepts(gaddag, path))
+				{
+					problem(path + " isn't in the GADDAG");
+				}
+			}
+		}
+
+		// Everything that's there was looked for above, so if there
+		// are as many as there should be, there's nothing extra.
+		long inDawg = walk(dictionary, dictionary.getRoot(), new StringBuilder(), false);
+		if (inDawg != words.size())
+		{
+			problem("The DAWG has " + inDawg + " words, not " + words.size());
+		}
+		long inGaddag = walk(gaddag, gaddag.getRoot(), new StringBuilder(), true);
+		if (inGaddag != letters)
+		{
+			problem("The GADDAG has " + inGaddag + " paths, not " + letters);
+		}
+
+		System.out.println(name + ": " + (problems == before ? "OK" :
+				(problems - before) + " problems") + " (" + inDawg + " words, " +
+				inGaddag + " GADDAG paths)");
+	}
+
+	private static boolean accepts(Automaton automaton, CharSequence path)
+	{
+		int node = automaton.getRoot();
+		for (int k = 0; k < path.length() && node != Automaton.NONE; k++)
+		{
+			node = automaton.get(node, path.charAt(k));
+		}
+		return node != Automaton.NONE && automaton.ends(node);
+	}
+
+	/**
+	 * Counts every word (or path) from the node on, and makes sure
+	 * each is one of the words.
+	 */
+	private long walk(Automaton automaton, int node, StringBuilder path, boolean isGaddag)
+	{
+		long count = 0;
+		if (automaton.ends(node))
+		{
+			count++;
+			String word = isGaddag ? unfold(path) : path.toString();
+			if (!words.contains(word))
+			{
+				problem(path + " shouldn't be there");
+			}
+		}
+		for (int mask = automaton.childMask(node); mask != 0; mask &= mask - 1)
+		{
+			char c = (char)('A' + Integer.numberOfTrailingZeros(mask));
+			path.append(c);
+			count += walk(automaton, automaton.get(node, c), path, isGaddag);
+			path.setLength(path.length() - 1);
+		}
+		return count;
+	}
+
+	/**
+	 * The word a GADDAG path spells.
+	 */
+	private static String unfold(CharSequence path)
+	{
+		String string = path.toString();
+		int separator = string.indexOf(Gaddag.SEPARATOR);
+		String left = separator < 0 ? string : string.substring(0, separator);
+		String right = separator < 0 ? "" : string.substring(separator + 1);
+		return new StringBuilder(left).reverse() + right;
+	}
+
+	public static void main(String[] args)
+	{
+		String wordList = args.length > 0 ? args[0] : Runner.DICTIONARY_FILE_NAME;
+		ArrayList<String> list = Trie.readWords(wordList);
+		LexiconCheck check = new LexiconCheck(list);
+		System.out.println(wordList + ": " + check.words.size() + " words");
+
+		check.check("Built", new Lexicon(list));
+		check.check("Loaded", Lexicon.load(wordList));
+		if (check.problems > 0)
+		{
+			System.out.println(check.problems + " problems");
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Picks between a few good moves by playing out what might happen
+ * after each of them, instead of just taking the one that scores
+ * the most right now.
+ *
+ * The tiles we can't see (the ones not on the board or in our rack)
+ * are shuffled, the opponent is dealt a rack from them, and the
+ * rest stand in for the bag. Then each candidate is played, the
+ * opponent answers with its best move, we answer that, and so on
+ * for a few plies. A candidate's equity is what we scored minus
+ * what the opponent did, averaged over every playout it got.
+ *
+ * Playouts run on the common pool's threads until a time budget
+ * runs out. There's no pool of its own, so nothing has to be shut
+ * down when the robot is done with it.
+ * Every candidate is played out against the same draws (playout k
+ * uses the same seed for all of them), so differences between them
+ * come from the moves, not from one getting luckier racks.
+ */
+public class MonteCarlo
+{
+	/**
+	 * Finds the replies during playouts. Playouts are already
+	 * spread over the threads, so it searches on the thread it's
+	 * called from.
+	 */
+	private Engine engine;
+
+	/**
+	 * Every tile in a full bag.
+	 */
+	private String tiles;
+
+	private int threads;
+
+	/**
+	 * @param tiles Every tile in a full bag (see TileBag.readTiles).
+	 * @param threads How many playouts to run at once. More than
+	 * the common pool's parallelism just queue up behind the rest.
+	 */
+	public MonteCarlo(Lexicon lexicon, int[] letterValues, String tiles, int threads)
+	{
+		engine = new Engine(lexicon, letterValues);
+		this.tiles = tiles;
+		this.threads = threads;
+	}
+
+	/**
+	 * Plays out every candidate until the time is up, and returns
+	 * the index of the one with the best average equity. Candidates
+	 * that never got a playout are passed over, and if none did,
+	 * it's the first one.
+	 * @param candidates The moves to pick from, best scoring first.
+	 * @param plies How many moves each playout goes, counting the
+	 * candidate.
+	 * @param millis About how long to spend. A playout that has
+	 * already started when the time runs out is finished.
+	 */
+	public int choose(Grid grid, Rack rack, Move[] candidates, int plies, long millis)
+	{
+		if (candidates.length < 2)
+		{
+			return 0;
+		}
+
+		String unseen = TileBag.unseen(tiles, grid, rack);
+		long deadline = System.nanoTime() + millis * 1_000_000;
+		long seed = new Random().nextLong();
+
+		AtomicLongArray totals = new AtomicLongArray(candidates.length);
+		AtomicIntegerArray counts = new AtomicIntegerArray(candidates.length);
+
+		// Playout k is candidate k % length against draw
+		// k / length, so every candidate gets its first playout
+		// before any gets a second.
+		AtomicInteger next = new AtomicInteger();
+		Callable<Void> worker = () ->
+		{
+			while (System.nanoTime() < deadline)
+			{
+				int k = next.getAndIncrement();
+				int candidate = k % candidates.length;
+				int equity = playOut(grid, rack, candidates[candidate],
+						unseen, seed + k / candidates.length, plies);
+				totals.addAndGet(candidate, equity);
+				counts.incrementAndGet(candidate);
+			}
+			return null;
+		};
+
+		ArrayList<Callable<Void>> workers = new ArrayList<>();
+		for (int k = 0; k < threads; k++)
+		{
+			workers.add(worker);
+		}
+		ForkJoinPool.commonPool().invokeAll(workers);
+
+		int best = 0;
+		double bestEquity = Double.NEGATIVE_INFINITY;
+		for (int k = 0; k < candidates.length; k++)
+		{
+			int count = counts.get(k);
+			if (count > 0 && (double)totals.get(k) / count > bestEquity)
+			{
+				best = k;
+				bestEquity = (double)totals.get(k) / count;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Plays the move, then lets the opponent and us take turns with
+	 * our best moves, with the unseen tiles shuffled with this seed.
+	 * Returns our points minus the opponent's.
+	 */
+	private int playOut(Grid grid, Rack rack, Move move, String unseen, long seed, int plies)
+	{
+		TileBag bag = new TileBag(unseen, new Random(seed));
+		Rack opponent = new Rack();
+		bag.fill(opponent);
+
+		Rack ours = new Rack(rack);
+		ours.remove(grid, move);
+		grid = grid.play(move);
+		bag.fill(ours);
+		int equity = move.score;
+
+		for (int ply = 1; ply < plies; ply++)
+		{
+			boolean theirs = ply % 2 == 1;
+			Rack turn = theirs ? opponent : ours;
+			Move[] best = engine.findMoves(grid, turn, 1);
+			if (best.length == 0)
+			{
+				// A pass.
+				continue;
+			}
+			turn.remove(grid, best[0]);
+			grid = grid.play(best[0]);
+			bag.fill(turn);
+			equity += theirs ? -best[0].score : best[0].score;
+		}
+		return equity;
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * A completed word, where it goes on the board,
+ * and a score. The word takes up the spaces from
+ * x,y going across (or down if it's vertical),
+ * including any letters already on the board.
+ * 
+ * The start, direction, word and blanks are the 
+ * move's key: two moves with the same key put the 
+ * same tiles on the same spaces. A single tile 
+ * that makes a word both ways is written going 
+ * across. 
+ * 
+ * Moves never change once they're made, so the same 
+ * Move can be handed to anyone who asks for it (see 
+ * MoveCache). 
+ */
+public class Move implements Comparable<Move>
+{
+	final String word; 
+
+	/**
+	 * Where the first letter of the word goes.
+	 */
+	final int x, y; 
+
+	/**
+	 * Whether the word goes down or across.
+	 */
+	final boolean vertical; 
+
+	/**
+	 * Which letters of the word are blanks: bit i is set if
+	 * word.charAt(i) is a blank. Words are never longer than
+	 * the board (Layout.MAX_SIZE), so they always fit.
+	 */
+	final long blanks; 
+
+	final int score; 
+	
+	/**
+	 * What the move is worth when choosing between moves: its 
+	 * score, plus what the tiles it leaves in the rack are 
+	 * worth (see LeaveTable), if the engine has a leave table. 
+	 * Otherwise it's just the score. 
+	 */
+	final int equity; 
+
+	Move(String word, int x, int y, boolean vertical, long blanks, 
+			int score, int equity)
+	{
+		this.word = word; 
+		this.x = x; 
+		this.y = y; 
+		this.vertical = vertical; 
+		this.blanks = blanks; 
+		this.score = score; 
+		this.equity = equity; 
+	}
+
+	public int length()
+	{
+		return word.length(); 
+	}
+
+	/**
+	 * The x coordinate of the index'th letter.
+	 */
+	public int getX(int index)
+	{
+		return vertical ? x : x + index; 
+	}
+
+	/**
+	 * The y coordinate of the index'th letter.
+	 */
+	public int getY(int index)
+	{
+		return vertical ? y + index : y; 
+	}
+
+	public boolean isBlank(int index)
+	{
+		return (blanks & (1L << index)) != 0; 
+	}
+
+	@Override
+	public String toString()
+	{
+		return word + " " + x + "," + y + (vertical ? " down " : " across ") + score; 
+	}
+
+	/**
+	 * Best equity first. Moves with the same equity are put 
+	 * in a fixed order, so the order doesn't depend on the 
+	 * order the moves were found in. 
+	 */
+	@Override
+	public int compareTo(Move other)
+	{
+		if (equity != other.equity)
+		{
+			return Integer.compare(other.equity, equity); 
+		}
+		int compare = word.compareTo(other.word); 
+		if (compare != 0)
+		{
+			return compare; 
+		}
+		if (x != other.x)
+		{
+			return Integer.compare(x, other.x); 
+		}
+		if (y != other.y)
+		{
+			return Integer.compare(y, other.y); 
+		}
+		if (vertical != other.vertical)
+		{
+			return vertical ? 1 : -1; 
+		}
+		return Long.compare(blanks, other.blanks); 
+	}
+}
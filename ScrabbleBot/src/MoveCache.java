@@ -0,0 +1,216 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Remembers the moves found for recent positions, so finding them
+ * again (the robot's turn being started over, or the same position
+ * being looked at twice) takes no search at all.
+ *
+ * A position is the board's and the rack's Zobrist keys (see
+ * Grid.getKey and Rack.getKey) and the layout. Everything else that
+ * decides the moves (the lexicon, the letter values, the leave
+ * table) belongs to the Engine, and every Engine has its own cache.
+ *
+ * Only the best few moves of each position are kept, and the least
+ * recently used positions are thrown out when the cache gets bigger
+ * than it's allowed to be. The size of a position is estimated from
+ * how many moves it has and how long their words are.
+ *
+ * Every caller gets its own copy of the array, but the Moves in it
+ * are the same objects, shared with everyone else who asked for the
+ * same position. That's only safe because a Move can't be changed
+ * once it's made (its fields are final).
+ */
+public class MoveCache
+{
+	/**
+	 * About what a position takes up before its moves: its key, its
+	 * place in the map and its array.
+	 */
+	private static final int ENTRY_BYTES = 128;
+
+	/**
+	 * About what a move takes up, not counting the letters of its
+	 * word, which are two bytes each.
+	 */
+	private static final int MOVE_BYTES = 96;
+
+	private static class Key
+	{
+		final Layout layout;
+		final long grid, rack;
+
+		Key(Grid grid, Rack rack)
+		{
+			layout = grid.getLayout();
+			this.grid = grid.getKey();
+			this.rack = rack.getKey();
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Long.hashCode(grid ^ Long.rotateLeft(rack, 1));
+		}
+
+		@Override
+		public boolean equals(Object other)
+		{
+			if (!(other instanceof Key))
+			{
+				return false;
+			}
+			Key key = (Key)other;
+			return grid == key.grid && rack == key.rack && layout == key.layout;
+		}
+	}
+
+	private static class Entry
+	{
+		/**
+		 * The best moves, best first.
+		 */
+		final Move[] moves;
+
+		/**
+		 * Whether these are all the moves there are, not just the
+		 * best of them.
+		 */
+		final boolean complete;
+
+		final int bytes;
+
+		Entry(Move[] moves, boolean complete)
+		{
+			this.moves = moves;
+			this.complete = complete;
+			int bytes = ENTRY_BYTES;
+			for (Move move : moves)
+			{
+				bytes += MOVE_BYTES + 2 * move.length();
+			}
+			this.bytes = bytes;
+		}
+	}
+
+	/**
+	 * The positions, least recently used first.
+	 */
+	private LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * How many moves are kept for each position.
+	 */
+	private int movesPerPosition;
+
+	private long maxBytes, bytes;
+
+	private long hits, misses, evictions;
+
+	/**
+	 * @param megabytes About how much memory the cache may take.
+	 * @param movesPerPosition At most how many of the best moves to
+	 * keep for each position.
+	 */
+	public MoveCache(int megabytes, int movesPerPosition)
+	{
+		maxBytes = megabytes * (1L << 20);
+		this.movesPerPosition = movesPerPosition;
+	}
+
+	/**
+	 * Returns the best moves for the rack on the board, if they're
+	 * known, or null if they aren't.
+	 * @param limit How many moves are wanted, at most. Fewer
+	 * moves are only given if there aren't any more.
+	 */
+	public synchronized Move[] get(Grid grid, Rack rack, int limit)
+	{
+		Entry entry = entries.get(new Key(grid, rack));
+		if (entry == null || (!entry.complete && entry.moves.length < limit))
+		{
+			misses++;
+			return null;
+		}
+		hits++;
+		// A copy, so whoever it's given to can change it.
+		return Arrays.copyOf(entry.moves, Math.min(limit, entry.moves.length));
+	}
+
+	/**
+	 * Remembers the best moves for the rack on the board.
+	 * @param moves The moves found, best first.
+	 * @param limit How many moves were asked for when they were
+	 * found. If fewer were found, they're all there are.
+	 */
+	public synchronized void put(Grid grid, Rack rack, Move[] moves, int limit)
+	{
+		boolean complete = moves.length < limit && moves.length <= movesPerPosition;
+		Entry entry = new Entry(moves.length > movesPerPosition ?
+				Arrays.copyOf(moves, movesPerPosition) : moves.clone(), complete);
+		if (entry.bytes > maxBytes)
+		{
+			return;
+		}
+
+		Entry old = entries.put(new Key(grid, rack), entry);
+		if (old != null)
+		{
+			bytes -= old.bytes;
+		}
+		bytes += entry.bytes;
+
+		Iterator<Entry> eldest = entries.values().iterator();
+		while (bytes > maxBytes)
+		{
+			bytes -= eldest.next().bytes;
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void clear()
+	{
+		entries.clear();
+		bytes = 0;
+	}
+
+	public synchronized long getHits()
+	{
+		return hits;
+	}
+
+	public synchronized long getMisses()
+	{
+		return misses;
+	}
+
+	public synchronized long getEvictions()
+	{
+		return evictions;
+	}
+
+	/**
+	 * About how much memory the positions in the cache take up.
+	 */
+	public synchronized long getBytes()
+	{
+		return bytes;
+	}
+
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+
+	@Override
+	public synchronized String toString()
+	{
+		long lookups = hits + misses;
+		return entries.size() + " positions, " + (bytes >> 10) + " KB, " +
+				hits + " hits, " + misses + " misses (" +
+				(lookups == 0 ? 0 : 100 * hits / lookups) + "% hit), " +
+				evictions + " evicted";
+	}
+}
@@ -0,0 +1,538 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Checks the move generator against a brute-force search. Games are
+ * played out on a few layouts, and on every turn, every move the
+ * Engine finds is compared with every move found by trying each
+ * word in the list at each space, both ways: the same moves have
+ * to be there, none missing, none extra, and none twice, and each
+ * has to score what it's worked out to score from the layout by
+ * hand. Each rack is also tried with one and two of its tiles
+ * turned into blanks.
+ *
+ * What the search starts from is checked on every turn too. The
+ * grid's anchors and left limits, kept up to date as tiles are
+ * played, have to be what they're worked out to be from scratch,
+ * and the same as a grid built from the letters on the board. The
+ * cross-checks on every space have to allow exactly the letters
+ * that make a word the other way.
+ *
+ * The brute force is slow with a big word list, so it uses the
+ * Google 20k list unless it's given another. Run it from the
+ * directory above ScrabbleBot.
+ *
+ * Usage: MoveCheck [games per layout] [word list]
+ */
+public class MoveCheck
+{
+	private static final String[] LAYOUTS = {
+		"ScrabbleBot/Default Board.txt",
+		"ScrabbleBot/Shrek Board.txt",
+		"ScrabbleBot/Words With Friends Board.txt",
+	};
+
+	private static final String WORD_LIST = "ScrabbleBot/Google 20k Words.txt";
+
+	/**
+	 * How many turns of each game are checked.
+	 */
+	private static final int TURNS = 10;
+
+	/**
+	 * How many problems to print before only counting them.
+	 */
+	private static final int MAX_PRINTED = 20;
+
+	private ArrayList<String> words;
+	private HashSet<String> wordSet;
+	private Lexicon lexicon;
+	private Engine engine;
+	private int[] letterValues;
+
+	private int positions, problems;
+	private long moves;
+
+	private MoveCheck(ArrayList<String> words, int[] letterValues)
+	{
+		this.words = words;
+		wordSet = new HashSet<>(words);
+		lexicon = new Lexicon(words);
+		engine = new Engine(lexicon, letterValues);
+		this.letterValues = letterValues.clone();
+	}
+
+	private void problem(String message)
+	{
+		if (++problems <= MAX_PRINTED)
+		{
+			System.out.println("  " + message);
+		}
+	}
+
+	/**
+	 * Compares the moves the Engine finds for the rack with the
+	 * brute force's.
+	 */
+	private void check(Grid grid, Rack rack)
+	{
+		positions++;
+		HashSet<String> expected = bruteForce(grid, rack);
+		HashSet<String> found = new HashSet<>();
+		for (Move move : engine.findMoves(grid, rack))
+		{
+			String key = key(move.word, move.x, move.y, move.vertical, move.blanks);
+			if (!found.add(key))
+			{
+				problem(rack + ": " + key + " was found twice");
+			}
+			else if (!expected.contains(key))
+			{
+				problem(rack + ": " + key + " isn't a move");
+			}
+			else if (move.score != score(grid, move))
+			{
+				problem(rack + ": " + key + " scored " + move.score +
+						", not " + score(grid, move));
+			}
+		}
+		for (String key : expected)
+		{
+			if (!found.contains(key))
+			{
+				problem(rack + ": " + key + " wasn't found");
+			}
+		}
+		moves += expected.size();
+	}
+
+	private static String key(String word, int x, int y, boolean vertical, long blanks)
+	{
+		return word + " " + x + "," + y + (vertical ? " down" : " across") +
+				(blanks == 0 ? "" : " blanks " + Long.toBinaryString(blanks));
+	}
+
+	/**
+	 * Every move the rack can make, found by putting every word
+	 * everywhere it could go and seeing whether it's allowed.
+	 */
+	private HashSet<String> bruteForce(Grid grid, Rack rack)
+	{
+		HashSet<String> found = new HashSet<>();
+		int width = grid.getWidth(), height = grid.getHeight();
+		int[] newTiles = new int[Layout.MAX_SIZE];
+		for (int direction = 0; direction < 2; direction++)
+		{
+			boolean vertical = direction == 1;
+			int dx = vertical ? 0 : 1, dy = vertical ? 1 : 0;
+			for (int y = 0; y < height; y++)
+			{
+				for (int x = 0; x < width; x++)
+				{
+					if (grid.hasLetter(x - dx, y - dy))
+					{
+						// The word would run on from the letter before it.
+						continue;
+					}
+					for (String word : words)
+					{
+						int length = word.length();
+						int endX = x + dx * (length - 1), endY = y + dy * (length - 1);
+						if (endX >= width || endY >= height || grid.hasLetter(endX + dx, endY + dy))
+						{
+							continue;
+						}
+						int count = fit(grid, rack, word, x, y, dx, dy, newTiles);
+						if (count > 0)
+						{
+							addMoves(found, rack, word, x, y, vertical, newTiles, count);
+						}
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Whether the word can go at x,y, going the way dx,dy: it has
+	 * to fit around the letters already there, put at least one
+	 * tile down, be made out of the rack, touch what's on the board
+	 * (or cover the start space on an empty board), and only make
+	 * words the other way. Returns how many tiles it puts down, and
+	 * puts where they go in the word in newTiles, or returns 0 if it
+	 * can't go there.
+	 */
+	private int fit(Grid grid, Rack rack, String word, int x, int y, int dx, int dy,
+			int[] newTiles)
+	{
+		Layout layout = grid.getLayout();
+		int count = 0, missing = 0;
+		int[] needed = new int[Runner.ALPHABET.length];
+		boolean touches = false;
+		for (int k = 0; k < word.length(); k++)
+		{
+			int cx = x + dx * k, cy = y + dy * k;
+			char onBoard = grid.get(cx, cy);
+			if (onBoard == '~')
+			{
+				return 0;
+			}
+			if (onBoard != Runner.EMPTY)
+			{
+				if (onBoard != word.charAt(k))
+				{
+					return 0;
+				}
+				touches = true;
+				continue;
+			}
+
+			newTiles[count++] = k;
+			char letter = word.charAt(k);
+			if (++needed[letter - 'A'] > rack.count(letter) &&
+				++missing > rack.count(Rack.BLANK_CHAR))
+			{
+				return 0;
+			}
+			if (grid.getTileCount() == 0 ?
+					cx == layout.getStartX() && cy == layout.getStartY() :
+					grid.hasLetter(cx - dy, cy - dx) || grid.hasLetter(cx + dy, cy + dx))
+			{
+				touches = true;
+			}
+			String cross = crossWord(grid, cx, cy, dy, dx, word.charAt(k));
+			if (cross.length() > 1 && !wordSet.contains(cross))
+			{
+				return 0;
+			}
+		}
+		if (count == 0 || !touches)
+		{
+			return 0;
+		}
+
+		// A single tile that makes a word both ways is only kept
+		// going across.
+		if (dy == 1 && count == 1)
+		{
+			int cx = x, cy = y + newTiles[0];
+			if (crossWord(grid, cx, cy, 1, 0, word.charAt(newTiles[0])).length() > 1)
+			{
+				return 0;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * The word through x,y going the way dx,dy, with the letter on
+	 * x,y.
+	 */
+	private static String crossWord(Grid grid, int x, int y, int dx, int dy, char letter)
+	{
+		int startX = x, startY = y;
+		while (grid.hasLetter(startX - dx, startY - dy))
+		{
+			startX -= dx;
+			startY -= dy;
+		}
+		StringBuilder cross = new StringBuilder();
+		for (int cx = startX, cy = startY; ; cx += dx, cy += dy)
+		{
+			if (cx == x && cy == y)
+			{
+				cross.append(letter);
+			}
+			else if (grid.hasLetter(cx, cy))
+			{
+				cross.append(grid.get(cx, cy));
+			}
+			else
+			{
+				break;
+			}
+		}
+		return cross.toString();
+	}
+
+	/**
+	 * Adds a move for every way the rack can supply the new tiles:
+	 * every choice of which of them are blanks that leaves enough
+	 * real tiles for the rest.
+	 */
+	private static void addMoves(HashSet<String> found, Rack rack, String word,
+			int x, int y, boolean vertical, int[] newTiles, int count)
+	{
+		int blanks = rack.count(Rack.BLANK_CHAR);
+		for (int chosen = 0; chosen < 1 << count; chosen++)
+		{
+			if (Integer.bitCount(chosen) > blanks)
+			{
+				continue;
+			}
+			int[] needed = new int[Runner.ALPHABET.length];
+			long mask = 0;
+			boolean enough = true;
+			for (int k = 0; k < count && enough; k++)
+			{
+				if ((chosen & (1 << k)) != 0)
+				{
+					mask |= 1L << newTiles[k];
+				}
+				else
+				{
+					char letter = word.charAt(newTiles[k]);
+					enough = ++needed[letter - 'A'] <= rack.count(letter);
+				}
+			}
+			if (enough)
+			{
+				found.add(key(word, x, y, vertical, mask));
+			}
+		}
+	}
+
+	/**
+	 * What the move scores, worked out straight from the layout's
+	 * modifiers: every word it makes, each letter times its letter
+	 * modifier and each word times its word modifiers, counting
+	 * modifiers only under the new tiles.
+	 */
+	private int score(Grid grid, Move move)
+	{
+		Layout layout = grid.getLayout();
+		int dx = move.vertical ? 0 : 1, dy = move.vertical ? 1 : 0;
+		int main = 0, mainMultiplier = 1, crosses = 0;
+		for (int k = 0; k < move.length(); k++)
+		{
+			int x = move.getX(k), y = move.getY(k);
+			if (grid.hasLetter(x, y))
+			{
+				main += grid.isBlank(x, y) ? 0 : letterValues[grid.get(x, y) - 'A'];
+				continue;
+			}
+
+			int value = move.isBlank(k) ? 0 : letterValues[move.word.charAt(k) - 'A'];
+			int letterMultiplier = 1, wordMultiplier = 1;
+			switch (layout.getModifier(x, y))
+			{
+			case Runner.DOUBLE_LETTER:
+				letterMultiplier = 2;
+				break;
+			case Runner.TRIPLE_LETTER:
+				letterMultiplier = 3;
+				break;
+			case Runner.DOUBLE_WORD:
+				wordMultiplier = 2;
+				break;
+			case Runner.TRIPLE_WORD:
+				wordMultiplier = 3;
+				break;
+			}
+			main += value * letterMultiplier;
+			mainMultiplier *= wordMultiplier;
+
+			if (crossWord(grid, x, y, dy, dx, move.word.charAt(k)).length() > 1)
+			{
+				int cross = value * letterMultiplier;
+				for (int cx = x - dy, cy = y - dx; grid.hasLetter(cx, cy); cx -= dy, cy -= dx)
+				{
+					cross += grid.isBlank(cx, cy) ? 0 : letterValues[grid.get(cx, cy) - 'A'];
+				}
+				for (int cx = x + dy, cy = y + dx; grid.hasLetter(cx, cy); cx += dy, cy += dx)
+				{
+					cross += grid.isBlank(cx, cy) ? 0 : letterValues[grid.get(cx, cy) - 'A'];
+				}
+				crosses += cross * wordMultiplier;
+			}
+		}
+		return main * mainMultiplier + crosses;
+	}
+
+	/**
+	 * Compares the grid's anchors and left limits, and the cross-
+	 * checks, with what they're worked out to be from the letters.
+	 */
+	private void checkBoard(Grid grid)
+	{
+		Layout layout = grid.getLayout();
+		int width = grid.getWidth(), height = grid.getHeight();
+		char[][] board = new char[width][height];
+		boolean[][] blanks = new boolean[width][height];
+		boolean[][] anchors = new boolean[width][height];
+		for (int x = 0; x < width; x++)
+		{
+			for (int y = 0; y < height; y++)
+			{
+				board[x][y] = grid.hasLetter(x, y) ? grid.get(x, y) : Runner.EMPTY;
+				blanks[x][y] = grid.isBlank(x, y);
+				anchors[x][y] = layout.isPlayable(x, y) && !grid.hasLetter(x, y) &&
+						(grid.getTileCount() == 0 ?
+								x == layout.getStartX() && y == layout.getStartY() :
+								grid.hasLetter(x - 1, y) || grid.hasLetter(x + 1, y) ||
+								grid.hasLetter(x, y - 1) || grid.hasLetter(x, y + 1));
+			}
+		}
+
+		Grid fresh = new Grid(layout, board, blanks);
+		if (!fresh.equals(grid) || fresh.getKey() != grid.getKey())
+		{
+			problem("The board isn't the same as one built from its letters");
+		}
+		int count = 0;
+		CrossChecks crossChecks = new CrossChecks(grid, lexicon.getDictionary());
+		for (int x = 0; x < width; x++)
+		{
+			for (int y = 0; y < height; y++)
+			{
+				count += anchors[x][y] ? 1 : 0;
+				if (grid.isAnchor(x, y) != anchors[x][y] || fresh.isAnchor(x, y) != anchors[x][y])
+				{
+					problem(x + "," + y + (anchors[x][y] ? " should" : " shouldn't") +
+							" be an anchor");
+				}
+				for (int direction = 0; direction < 2; direction++)
+				{
+					boolean vertical = direction == 1;
+					int dx = vertical ? 0 : 1, dy = vertical ? 1 : 0;
+					checkLimit(grid, fresh, anchors, x, y, vertical, dx, dy);
+					if (layout.isPlayable(x, y) && !grid.hasLetter(x, y))
+					{
+						checkCrossCheck(grid, crossChecks, x, y, vertical, dx, dy);
+					}
+				}
+			}
+		}
+		if (grid.getAnchors().length != count)
+		{
+			problem("There are " + grid.getAnchors().length + " anchors, not " + count);
+		}
+	}
+
+	/**
+	 * The left limit of an anchor is how many empty spaces come
+	 * right before it that aren't anchors.
+	 */
+	private void checkLimit(Grid grid, Grid fresh, boolean[][] anchors,
+			int x, int y, boolean vertical, int dx, int dy)
+	{
+		int limit = 0;
+		if (anchors[x][y])
+		{
+			for (int cx = x - dx, cy = y - dy;
+					grid.getLayout().isPlayable(cx, cy) && !grid.hasLetter(cx, cy) &&
+					!anchors[cx][cy];
+					cx -= dx, cy -= dy)
+			{
+				limit++;
+			}
+		}
+		if (grid.getLeftLimit(x, y, vertical) != limit ||
+			fresh.getLeftLimit(x, y, vertical) != limit)
+		{
+			problem(x + "," + y + (vertical ? " down" : " across") + " has a left limit of " +
+					grid.getLeftLimit(x, y, vertical) + ", not " + limit);
+		}
+	}
+
+	/**
+	 * A word going across (or down) can put a letter on x,y if the
+	 * letter makes a word going down (or across) with the letters
+	 * beside it, or if there aren't any.
+	 */
+	private void checkCrossCheck(Grid grid, CrossChecks crossChecks,
+			int x, int y, boolean vertical, int dx, int dy)
+	{
+		int expected = 0;
+		for (char letter : Runner.ALPHABET)
+		{
+			String cross = crossWord(grid, x, y, dy, dx, letter);
+			if (cross.length() == 1 || wordSet.contains(cross))
+			{
+				expected |= 1 << (letter - 'A');
+			}
+		}
+		if (crossChecks.get(x, y, vertical) != expected)
+		{
+			problem(x + "," + y + (vertical ? " down" : " across") + " allows " +
+					Integer.toBinaryString(crossChecks.get(x, y, vertical)) + ", not " +
+					Integer.toBinaryString(expected));
+		}
+	}
+
+	/**
+	 * The rack with its first few tiles turned into blanks.
+	 */
+	private static Rack withBlanks(Rack rack, int blanks)
+	{
+		String tiles = rack.toString();
+		blanks = Math.min(blanks, tiles.length());
+		StringBuilder changed = new StringBuilder(tiles);
+		for (int k = 0; k < blanks; k++)
+		{
+			changed.setCharAt(k, Rack.BLANK_CHAR);
+		}
+		return new Rack(changed);
+	}
+
+	/**
+	 * Plays a game on the layout, always taking the best move, and
+	 * checks every turn.
+	 */
+	private void play(Layout layout, String tiles, long seed)
+	{
+		TileBag bag = new TileBag(tiles, new Random(seed));
+		Rack[] racks = { new Rack(), new Rack() };
+		bag.fill(racks[0]);
+		bag.fill(racks[1]);
+		Grid grid = new Grid(layout);
+		for (int turn = 0; turn < TURNS; turn++)
+		{
+			Rack rack = racks[turn % 2];
+			checkBoard(grid);
+			check(grid, rack);
+			check(grid, withBlanks(rack, 1));
+			check(grid, withBlanks(rack, 2));
+
+			Move[] best = engine.findMoves(grid, rack, 1);
+			if (best.length == 0)
+			{
+				break;
+			}
+			rack.remove(grid, best[0]);
+			grid = grid.play(best[0]);
+			bag.fill(rack);
+		}
+	}
+
+	public static void main(String[] args)
+	{
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+		String wordList = args.length > 1 ? args[1] : WORD_LIST;
+
+		MoveCheck check = new MoveCheck(Trie.readWords(wordList),
+				Engine.readLetterValues(Runner.LETTER_POINTS_FILE_NAME));
+		String tiles = TileBag.readTiles(Runner.LETTER_AMOUNTS_FILE_NAME);
+		for (String fileName : LAYOUTS)
+		{
+			Layout layout = Layout.load(new File(fileName));
+			int before = check.problems;
+			for (int game = 0; game < games; game++)
+			{
+				check.play(layout, tiles, game);
+			}
+			System.out.println(fileName + ": " + (check.problems == before ? "OK" :
+					(check.problems - before) + " problems"));
+		}
+
+		System.out.println(check.positions + " positions, " + check.moves + " moves, " +
+				check.problems + " problems");
+		if (check.problems > 0)
+		{
+			System.exit(1);
+		}
+	}
+}
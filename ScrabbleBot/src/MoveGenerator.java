@@ -0,0 +1,533 @@
+import java.util.Arrays;
+
+/**
+ * Finds every word the rack can make on the board, using a GADDAG.
+ * Words are grown outwards from each anchor space: first to the
+ * left (or up), then, once the GADDAG says to turn around, to the
+ * right (or down). A placement is found in a single walk down the
+ * GADDAG, instead of re-walking the word from its first letter
+ * every time a letter is added to the front of it.
+ *
+ * The word being built lives in one scratch buffer that letters are
+ * pushed on to and popped off of as the search goes, so nothing is
+ * allocated while searching. A Move is only made once a word is
+ * found, and if there's a Scorer, only once the word has been
+ * scored and is good enough to keep.
+ *
+ * Every move is found once. Tiles with the same letter are only
+ * tried once (see Rack), and a word only puts tiles before its
+ * anchor up to the next anchor (see Grid.getLeftLimit), so two
+ * anchors never find the same placement. The one exception is a
+ * single tile, which makes a word both across and down and is found
+ * going both ways from its anchor. Across is searched first, so
+ * that's the one kept, and the other is dropped before it's scored.
+ *
+ * Moves go to a MoveSink as soon as they're found. If it says to
+ * stop, or the search has a deadline and it has passed, the search
+ * unwinds straight away, without looking at any more anchors.
+ *
+ * What the search did is counted in plain fields as it goes, and
+ * added to SearchMetrics at the end, so counting costs next to
+ * nothing.
+ */
+public class MoveGenerator
+{
+	/**
+	 * How often (in positions tried) to check whether the deadline
+	 * has passed.
+	 */
+	private static final int CLOCK_INTERVAL = 256;
+
+	/**
+	 * One move in this many is timed while it's scored. Timing
+	 * every one would take about as long as the scoring.
+	 */
+	private static final int SCORE_SAMPLE = 64;
+
+	private Gaddag gaddag;
+
+	/**
+	 * Used to work out which letters fit the words made across
+	 * the word being built.
+	 */
+	private Trie dictionary;
+
+	/**
+	 * What the tiles left in the rack are worth, or null if moves
+	 * are only worth their score.
+	 */
+	private LeaveTable leaves;
+
+	private Grid grid;
+
+	/**
+	 * Which letters can go on each empty space without making a
+	 * bad word going the other way.
+	 */
+	private CrossChecks crossChecks;
+
+	/**
+	 * The tiles that haven't been put in the word being built yet.
+	 */
+	private Rack rack;
+
+	private MoveSink sink;
+
+	/**
+	 * Set once the sink doesn't want any more moves, or the
+	 * deadline has passed.
+	 */
+	private boolean stopped;
+
+	/**
+	 * When to stop searching (in System.nanoTime), if timed.
+	 */
+	private boolean timed;
+	private long deadline;
+
+	/**
+	 * What this search has done so far, for SearchMetrics.
+	 */
+	private long nodes, rejections, scored, emitted, scoringNanos;
+
+	/**
+	 * Scores words before they're handed to the sink, or null if
+	 * they aren't scored.
+	 */
+	private Scorer scorer;
+
+	/**
+	 * How many tiles were in the rack when the search started.
+	 */
+	private int rackSize;
+
+	/**
+	 * The single tiles already recorded in this search. A tile's
+	 * bit is ((space * 26 + letter) * 2 + 1 if it's a blank), where
+	 * space is y * width + x and letter is c - 'A'.
+	 */
+	private long[] singles;
+
+	/**
+	 * The anchor and direction currently being searched.
+	 */
+	private int anchorX, anchorY;
+	private boolean vertical;
+
+	/**
+	 * How many tiles can go before the anchor. The spaces past
+	 * that are other anchors' business, so placements aren't found
+	 * more than once.
+	 */
+	private int leftLimit;
+
+	/**
+	 * The word being built, centered on the anchor. Position 0 is
+	 * the anchor, -1 the space left of (or above) it, 1 the space
+	 * right of (or below) it. word[offset + pos] holds the letter
+	 * at position pos.
+	 */
+	private char[] word;
+	private int offset;
+
+	/**
+	 * Which letters in the word are blanks. Bit -pos of leftBlanks
+	 * is for position pos at or left of the anchor, bit pos - 1 of
+	 * rightBlanks for position pos right of it.
+	 */
+	private long leftBlanks, rightBlanks;
+
+	/**
+	 * The left-most position of the word, once we've turned around
+	 * and started going right.
+	 */
+	private int leftEnd;
+
+	public MoveGenerator(Gaddag gaddag, Trie dictionary)
+	{
+		this(gaddag, dictionary, null);
+	}
+
+	/**
+	 * @param leaves If not null, scored moves are worth their score
+	 * plus what they leave in the rack (see Move.equity).
+	 */
+	public MoveGenerator(Gaddag gaddag, Trie dictionary, LeaveTable leaves)
+	{
+		this.gaddag = gaddag;
+		this.dictionary = dictionary;
+		this.leaves = leaves;
+	}
+
+	/**
+	 * Finds every move that goes through at least one of the
+	 * board's anchors, both across and down.
+	 * @param rack The tiles that can be placed.
+	 * @param sink Given every move found, until it says to stop.
+	 */
+	public void generate(Grid grid, Rack rack, MoveSink sink)
+	{
+		int[] anchors = grid.getAnchors();
+		generate(grid, new CrossChecks(grid, dictionary),
+				anchors, 0, anchors.length, rack, null, sink);
+	}
+
+	/**
+	 * Finds every move built from anchors[from] to anchors[to - 1].
+	 * This is how one board's search is split up between threads:
+	 * each thread has its own MoveGenerator, and they all share the
+	 * cross-checks, which only depend on the board.
+	 * @param scorer If not null, every move is scored before it's
+	 * handed to the sink, and moves worth less than the sink's
+	 * floor are never made.
+	 * @return Whether every move was found, rather than the sink
+	 * stopping the search.
+	 */
+	public boolean generate(Grid grid, CrossChecks crossChecks,
+			int[] anchors, int from, int to, Rack rack,
+			Scorer scorer, MoveSink sink)
+	{
+		this.grid = grid;
+		this.sink = sink;
+		this.crossChecks = crossChecks;
+		this.scorer = scorer;
+		stopped = false;
+
+		this.rack = new Rack(rack);
+		rackSize = rack.size();
+
+		int bits = grid.getWidth() * grid.getHeight() * 26 * 2;
+		if (singles == null || singles.length < (bits + 63) / 64)
+		{
+			singles = new long[(bits + 63) / 64];
+		}
+		else
+		{
+			Arrays.fill(singles, 0);
+		}
+
+		offset = Math.max(grid.getWidth(), grid.getHeight());
+		if (word == null || word.length < offset * 2 + 1)
+		{
+			word = new char[offset * 2 + 1];
+		}
+		leftBlanks = 0;
+		rightBlanks = 0;
+
+		for (int k = from; k < to && !stopped; k++)
+		{
+			anchorX = anchors[k] % grid.getWidth();
+			anchorY = anchors[k] / grid.getWidth();
+
+			vertical = false;
+			leftLimit = grid.getLeftLimit(anchorX, anchorY, false);
+			gen(0, gaddag.getRoot());
+
+			vertical = true;
+			leftLimit = grid.getLeftLimit(anchorX, anchorY, true);
+			gen(0, gaddag.getRoot());
+		}
+
+		SearchMetrics.get().addSearch(nodes, rejections, scored, emitted, scoringNanos);
+		nodes = 0;
+		rejections = 0;
+		scored = 0;
+		emitted = 0;
+		scoringNanos = 0;
+
+		// Don't hang on to the board or sink between searches.
+		this.grid = null;
+		this.sink = null;
+		this.crossChecks = null;
+		this.scorer = null;
+		return !stopped;
+	}
+
+	/**
+	 * Makes every search from now on stop when System.nanoTime()
+	 * passes deadline, as if the sink had said to stop.
+	 */
+	public void setDeadline(long deadline)
+	{
+		timed = true;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Lets searches run until they've found every move again.
+	 */
+	public void clearDeadline()
+	{
+		timed = false;
+	}
+
+	/**
+	 * Puts every letter that could go at this position into the
+	 * word, and keeps going from there.
+	 * @param pos Where the next letter goes, relative to the anchor.
+	 * @param node Where we are in the GADDAG.
+	 */
+	private void gen(int pos, int node)
+	{
+		if (++nodes % CLOCK_INTERVAL == 0 && timed && System.nanoTime() - deadline > 0)
+		{
+			stopped = true;
+		}
+		if (stopped)
+		{
+			return;
+		}
+
+		char onBoard = letterAt(pos);
+		if (onBoard != Runner.EMPTY)
+		{
+			// There's already a letter here, so there's no choice
+			// to be made.
+			goOn(pos, onBoard, false, node);
+			return;
+		}
+
+		if (rack.isEmpty() || -pos > leftLimit)
+		{
+			return;
+		}
+
+		// The letters that won't make a bad word going the
+		// other way, and that the GADDAG has somewhere to go
+		// with from here. If there aren't any, nothing can go
+		// here.
+		int children = gaddag.childMask(node) & CrossChecks.ALL;
+		int crossChecked = vertical ?
+				crossChecks.get(anchorX, anchorY + pos, true) :
+				crossChecks.get(anchorX + pos, anchorY, false);
+		int ruledOut = children & ~crossChecked;
+		rejections += Integer.bitCount(rack.letters() & ruledOut) +
+				(rack.hasBlank() ? Integer.bitCount(ruledOut) : 0);
+
+		int allowed = children & crossChecked;
+		if (allowed == 0)
+		{
+			return;
+		}
+
+		// Each letter is only tried once, however many of it
+		// there are in the rack.
+		for (int letters = rack.letters() & allowed; letters != 0 && !stopped; letters &= letters - 1)
+		{
+			int index = Integer.numberOfTrailingZeros(letters);
+			rack.take(index);
+			goOn(pos, (char)('A' + index), false, node);
+			rack.put(index);
+		}
+
+		// A blank can be any of them, so it only goes down the
+		// branches that are there, not every letter.
+		if (rack.hasBlank())
+		{
+			rack.take(Rack.BLANK);
+			for (int letters = allowed; letters != 0 && !stopped; letters &= letters - 1)
+			{
+				goOn(pos, (char)('A' + Integer.numberOfTrailingZeros(letters)), true, node);
+			}
+			rack.put(Rack.BLANK);
+		}
+	}
+
+	/**
+	 * Adds the letter at this position to the word, records the
+	 * word if it is complete, and tries to grow it further.
+	 */
+	private void goOn(int pos, char letter, boolean blank, int node)
+	{
+		int next = gaddag.get(node, letter);
+		if (next == Automaton.NONE)
+		{
+			return;
+		}
+
+		push(pos, letter, blank);
+
+		if (pos <= 0)
+		{
+			// Still going left. The word can only stop here if
+			// nothing is touching it on either end.
+			boolean leftClear = !hasLetter(pos-1);
+			if (gaddag.ends(next) && leftClear && !hasLetter(1))
+			{
+				record(pos, 0);
+			}
+
+			if (isPlayable(pos-1))
+			{
+				gen(pos-1, next);
+			}
+
+			// Turn around, and start adding letters to the right
+			// of the anchor.
+			int turn = gaddag.get(next, Gaddag.SEPARATOR);
+			if (turn != Automaton.NONE && leftClear && isPlayable(1))
+			{
+				leftEnd = pos;
+				gen(1, turn);
+			}
+		}
+		else
+		{
+			if (gaddag.ends(next) && !hasLetter(pos+1))
+			{
+				record(leftEnd, pos);
+			}
+
+			if (isPlayable(pos+1))
+			{
+				gen(pos+1, next);
+			}
+		}
+
+		pop(pos);
+	}
+
+	private void push(int pos, char letter, boolean blank)
+	{
+		word[offset + pos] = letter;
+		if (blank)
+		{
+			if (pos <= 0)
+			{
+				leftBlanks |= 1L << -pos;
+			}
+			else
+			{
+				rightBlanks |= 1L << (pos - 1);
+			}
+		}
+	}
+
+	private void pop(int pos)
+	{
+		if (pos <= 0)
+		{
+			leftBlanks &= ~(1L << -pos);
+		}
+		else
+		{
+			rightBlanks &= ~(1L << (pos - 1));
+		}
+	}
+
+	/**
+	 * Hands the word from position "from" to position "to" over
+	 * to the sink.
+	 */
+	private void record(int from, int to)
+	{
+		if (rackSize - rack.size() == 1 && !firstSingle(from, to))
+		{
+			return;
+		}
+
+		long blankMask = 0;
+		for (int pos = from; pos <= to; pos++)
+		{
+			boolean blank = pos <= 0 ?
+					(leftBlanks & (1L << -pos)) != 0 :
+					(rightBlanks & (1L << (pos - 1))) != 0;
+			if (blank)
+			{
+				blankMask |= 1L << (pos - from);
+			}
+		}
+
+		int x = vertical ? anchorX : anchorX + from;
+		int y = vertical ? anchorY + from : anchorY;
+		int length = to - from + 1;
+
+		int score = 0, equity = 0;
+		if (scorer != null)
+		{
+			if (++scored % SCORE_SAMPLE == 0)
+			{
+				long start = System.nanoTime();
+				score = score(x, y, from, length, blankMask);
+				scoringNanos += (System.nanoTime() - start) * SCORE_SAMPLE;
+			}
+			else
+			{
+				score = score(x, y, from, length, blankMask);
+			}
+			// What's still in the rack is what the move leaves.
+			equity = leaves == null ? score : score + leaves.value(rack);
+			if (equity < sink.floor())
+			{
+				return;
+			}
+		}
+
+		Move move = new Move(new String(word, offset + from, length),
+				x, y, vertical, blankMask, score, equity);
+		emitted++;
+		stopped = !sink.accept(move);
+	}
+
+	private int score(int x, int y, int from, int length, long blankMask)
+	{
+		return scorer.score(grid.getLetters(), grid.getBlanks(),
+				x, y, vertical, word, offset + from, length, blankMask);
+	}
+
+	/**
+	 * The word from "from" to "to" only has one new tile. Returns
+	 * whether that tile hasn't been recorded before (and marks it
+	 * as recorded).
+	 */
+	private boolean firstSingle(int from, int to)
+	{
+		int pos = from;
+		while (hasLetter(pos))
+		{
+			pos++;
+		}
+		int x = vertical ? anchorX : anchorX + pos;
+		int y = vertical ? anchorY + pos : anchorY;
+		boolean blank = pos <= 0 ?
+				(leftBlanks & (1L << -pos)) != 0 :
+				(rightBlanks & (1L << (pos - 1))) != 0;
+
+		int bit = ((y * grid.getWidth() + x) * 26 + (word[offset + pos] - 'A')) * 2 +
+				(blank ? 1 : 0);
+		long mask = 1L << bit;
+		if ((singles[bit >>> 6] & mask) != 0)
+		{
+			return false;
+		}
+		singles[bit >>> 6] |= mask;
+		return true;
+	}
+
+	/**
+	 * Returns the letter on the board at this position, or
+	 * Runner.EMPTY if there isn't one.
+	 */
+	private char letterAt(int pos)
+	{
+		return vertical ?
+				grid.get(anchorX, anchorY + pos) :
+				grid.get(anchorX + pos, anchorY);
+	}
+
+	/**
+	 * Whether or not this position is on the board, and isn't a
+	 * space that can't be played on.
+	 */
+	private boolean isPlayable(int pos)
+	{
+		return letterAt(pos) != '~';
+	}
+
+	private boolean hasLetter(int pos)
+	{
+		return vertical ?
+				grid.hasLetter(anchorX, anchorY + pos) :
+				grid.hasLetter(anchorX + pos, anchorY);
+	}
+}
@@ -0,0 +1,25 @@
+/**
+ * Where a MoveGenerator hands the moves it finds, one at a time, as
+ * soon as it finds them. A sink can ask for the search to stop, so
+ * questions like "is there any move?" or "is there a bingo?" don't
+ * have to wait for every move to be found.
+ */
+public interface MoveSink
+{
+	/**
+	 * The lowest equity (see Move) the sink still wants. Moves worth
+	 * less are dropped before a Move is made for them. Only looked
+	 * at when moves are scored.
+	 */
+	default int floor()
+	{
+		return Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Takes a move.
+	 * @return Whether to keep searching. Once this is false, no more
+	 * moves are found.
+	 */
+	boolean accept(Move move);
+}
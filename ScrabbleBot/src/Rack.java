@@ -0,0 +1,191 @@
+/**
+ * The tiles a player is holding. Tiles with the same letter can't
+ * be told apart, so the rack only keeps how many of each letter
+ * there are: counts[c - 'A'] for letter c, and counts[BLANK] for
+ * blanks. This way taking a tile out and putting it back is O(1),
+ * and a search over the rack only tries each letter once, no matter
+ * how many of it there are.
+ */
+public class Rack
+{
+	/**
+	 * Where blanks are counted. A blank is written as '?'.
+	 */
+	public static final int BLANK = 26;
+
+	public static final char BLANK_CHAR = '?';
+
+	private int[] counts;
+
+	/**
+	 * Bit i is set if there's at least one of tile i.
+	 */
+	private int present;
+
+	private int size;
+
+	/**
+	 * The Zobrist key for the tiles (see Zobrist): the XOR of
+	 * Zobrist.rack(i, n) for every n below counts[i].
+	 */
+	private long key;
+
+	public Rack()
+	{
+		counts = new int[BLANK + 1];
+	}
+
+	/**
+	 * Creates a rack holding these tiles. Letters that aren't A-Z
+	 * or '?' are ignored.
+	 */
+	public Rack(CharSequence tiles)
+	{
+		this();
+		for (int k = 0; k < tiles.length(); k++)
+		{
+			char c = Character.toUpperCase(tiles.charAt(k));
+			if ((c >= 'A' && c <= 'Z') || c == BLANK_CHAR)
+			{
+				add(c);
+			}
+		}
+	}
+
+	public Rack(Rack other)
+	{
+		counts = other.counts.clone();
+		present = other.present;
+		size = other.size;
+		key = other.key;
+	}
+
+	/**
+	 * Which slot a tile is counted in.
+	 */
+	public static int indexOf(char tile)
+	{
+		return tile == BLANK_CHAR ? BLANK : tile - 'A';
+	}
+
+	public void add(char tile)
+	{
+		put(indexOf(tile));
+	}
+
+	/**
+	 * Takes a tile out of the rack.
+	 * @throws IllegalArgumentException if there isn't one.
+	 */
+	public void remove(char tile)
+	{
+		if (count(tile) == 0)
+		{
+			throw new IllegalArgumentException(
+					"There's no " + tile + " in " + this);
+		}
+		take(indexOf(tile));
+	}
+
+	/**
+	 * Takes out the tiles the move puts on the board: each of its
+	 * letters that isn't on the board yet, or a blank for the
+	 * letters that are blanks.
+	 * @return How many tiles were taken out.
+	 * @throws IllegalArgumentException if one of them isn't there.
+	 */
+	public int remove(Grid grid, Move move)
+	{
+		int tiles = 0;
+		for (int k = 0; k < move.length(); k++)
+		{
+			if (!grid.hasLetter(move.getX(k), move.getY(k)))
+			{
+				remove(move.isBlank(k) ? BLANK_CHAR : move.word.charAt(k));
+				tiles++;
+			}
+		}
+		return tiles;
+	}
+
+	public int count(char tile)
+	{
+		return counts[indexOf(tile)];
+	}
+
+	/**
+	 * Puts one more of tile index back.
+	 */
+	void put(int index)
+	{
+		key ^= Zobrist.rack(index, counts[index]);
+		counts[index]++;
+		present |= 1 << index;
+		size++;
+	}
+
+	/**
+	 * Takes one of tile index out. There has to be one.
+	 */
+	void take(int index)
+	{
+		key ^= Zobrist.rack(index, counts[index] - 1);
+		if (--counts[index] == 0)
+		{
+			present &= ~(1 << index);
+		}
+		size--;
+	}
+
+	/**
+	 * Which letters there's at least one of, as a mask with bit
+	 * (c - 'A') set for letter c. Blanks aren't in it.
+	 */
+	int letters()
+	{
+		return present & ~(1 << BLANK);
+	}
+
+	boolean hasBlank()
+	{
+		return counts[BLANK] != 0;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * A 64-bit hash of the tiles in the rack, which doesn't depend
+	 * on the order they were added in. It's kept up to date as
+	 * tiles go in and out.
+	 */
+	public long getKey()
+	{
+		return key;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * The tiles in alphabetical order, blanks last.
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder str = new StringBuilder(size);
+		for (int index = 0; index <= BLANK; index++)
+		{
+			char tile = index == BLANK ? BLANK_CHAR : (char)('A' + index);
+			for (int k = 0; k < counts[index]; k++)
+			{
+				str.append(tile);
+			}
+		}
+		return str.toString();
+	}
+}
@@ -1,13 +1,17 @@
 import java.awt.Point;
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The AI that uses an algorithm to determine
  * the best move to use to get the most points
- * on a Scrabble board.
+ * on a Scrabble board. The moves themselves are
+ * found by the Engine; the robot only reads the
+ * board and rack off the screen and puts the
+ * chosen move back on it. 
  */
 public class Robot 
 {
@@ -23,68 +27,32 @@ public class Robot
 	 */
 	private Board boardArea; 
 	
-	private Trie dictionary; 
+	private Engine engine; 
 	
-	private LinkedList<Character> rack; 
-	
-	private char[][] board; 
+	/**
+	 * Chooses between the best moves, if Runner.SIMULATE_MOVES 
+	 * is on. Otherwise null. 
+	 */
+	private MonteCarlo simulator; 
 	
-	private HashSet<Point> letters; 
+	/**
+	 * Plays out the end of the game once the bag is empty, if 
+	 * Runner.SOLVE_ENDGAMES is on. Otherwise null. 
+	 */
+	private EndgameSolver endgameSolver; 
 	
-	private HashSet<Point> anchorSpaces; 
+	/**
+	 * Every tile in a full bag, to work out which tiles the 
+	 * other player could have. 
+	 */
+	private String tiles; 
 	
-	private PriorityQueue<Move> possibleMovesQueue;
+	private HashSet<Point> letters; 
 	
 	private Move[] possibleMoves; 
 	
 	private int index; 
 	
-	/**
-	 * A completed word, points the word fit
-	 * in, and a score.
-	 */
-	private class Move implements Comparable<Move>
-	{
-		private String word; 
-		private LinkedList<Point> locs;
-		private LinkedList<Boolean> customChars; 
-		private int score; 
-		
-		private Move(String word, LinkedList<Point> locs, LinkedList<Boolean> customChars)
-		{
-			this.word = word; 
-			this.locs = locs; 
-			this.customChars = customChars; 
-		}
-		
-		public Move clone()
-		{
-			LinkedList<Point> locsCopy = new LinkedList<>(); 
-			for (Point loc : locs)
-			{
-				locsCopy.add(new Point(loc.x, loc.y));
-			}
-			LinkedList<Boolean> customCharsCopy = new LinkedList<>(); 
-			for (Boolean bool : customChars)
-			{
-				customCharsCopy.add(bool); 
-			}
-			return new Move(word + "", locsCopy, customCharsCopy);
-		}
-		
-		@Override
-		public String toString()
-		{
-			return word + " " + locs + " " + score; 
-		}
-		
-		@Override
-		public int compareTo(Move other) 
-		{
-			return Integer.compare(other.score, score);
-		}
-	}
-	
 	/**
 	 * @param frame The JFrame holding this project, including
 	 * the board and the robot's rack.
@@ -95,589 +63,203 @@ public class Robot
 		this.frame = frame; 
 		this.boardArea = boardArea; 
 		
-		dictionary = new Trie(Runner.DICTIONARY_FILE_NAME);
-	}
-	
-	/**
-	 * Determines which move to do, given the layout of the 
-	 * board and the letters in our rack. 
-	 */
-	public void makeMove()
-	{
-		rack = frame.getRobotRack();
-		board = boardArea.getBoard(); 
-		letters = boardArea.getSubmittedLocations();
-		possibleMovesQueue = new PriorityQueue<>();
-		anchorSpaces = boardArea.getAnchorSpaces(); 
+		Lexicon lexicon = Lexicon.load(Runner.DICTIONARY_FILE_NAME); 
+		int[] letterValues = Engine.readLetterValues(Runner.LETTER_POINTS_FILE_NAME); 
+		tiles = TileBag.readTiles(Runner.LETTER_AMOUNTS_FILE_NAME); 
 		
-		index = 0; 
+		engine = new Engine(lexicon, letterValues, 
+				Runner.PARALLEL_SEARCH ? ForkJoinPool.commonPool() : null, 
+				loadLeaves(), Runner.MOVE_CACHE_MEGABYTES > 0 ? 
+						new MoveCache(Runner.MOVE_CACHE_MEGABYTES, Runner.MOVES_TO_KEEP) : null); 
 		
-		if (boardArea.getNumTurns() == 0)
+		if (Runner.SIMULATE_MOVES)
 		{
-			letters.add(new Point(boardArea.getMidPoint())); 
+			simulator = new MonteCarlo(lexicon, letterValues, tiles, 
+					ForkJoinPool.getCommonPoolParallelism()); 
 		}
-		
-		for (Point point : anchorSpaces)
+		if (Runner.SOLVE_ENDGAMES)
 		{
-			for (int k = 0; k < rack.size(); k++)
-			{
-				char c = rack.remove(k); 
-				
-				String str = c + ""; 
-				Move currentMove = new Move(str, new LinkedList<Point>(), new LinkedList<Boolean>()); 
-				currentMove.locs.add(point); 
-				currentMove.customChars.add(false);
-				
-				// Horizontal word
-				{
-					goLeft(currentMove, false);
-					findLeftParts(currentMove, false); 
-
-					Node cnode = dictionary.getRoot(); 
-					for (char wordc : currentMove.word.toCharArray())
-					{
-						cnode = cnode.get(wordc);
-						if (cnode == null)
-						{
-							break; 
-						}
-					}
-					if (cnode != null)
-					{
-						Node findRightPartsNode =
-								goRight(cnode, currentMove, false);
-						if (findRightPartsNode != null && isPossibleForAWord(currentMove.word))
-						{
-							findRightParts(findRightPartsNode, currentMove, false); 
-						}
-					}
-				}
-				
-				// Vertical word
-				{
-					goLeft(currentMove, true); 
-					findLeftParts(currentMove, true); 
-					
-					Node cnode = dictionary.getRoot(); 
-					for (char wordc : currentMove.word.toCharArray())
-					{
-						cnode = cnode.get(wordc);
-						if (cnode == null)
-						{
-							break; 
-						}
-					}
-					if (cnode != null)
-					{
-						Node findRightPartsNode =
-								goRight(cnode, currentMove, true);
-						if (findRightPartsNode != null && isPossibleForAWord(currentMove.word))
-						{
-							findRightParts(findRightPartsNode, currentMove, true); 
-						}
-					}
-				}
-				
-				rack.add(k, c); 
-			}
+			endgameSolver = new EndgameSolver(lexicon, letterValues, 
+					Runner.ENDGAME_TABLE_MEGABYTES); 
 		}
 		
-		int index = 0; 
-		
-		possibleMoves = new Move[possibleMovesQueue.size()]; 
-		possibleMoves = possibleMovesQueue.toArray(possibleMoves); 
-		Arrays.sort(possibleMoves); 
-		
-		System.out.println();
-		for (int k = 0; k < possibleMoves.length; k++)
-		{
-			System.out.println(possibleMoves[k]);
-		}
-		
-		Move move = possibleMovesQueue.poll();
-		Boolean[] customChars = new Boolean[move.customChars.size()];
-		customChars = move.customChars.toArray(customChars); 
-		for (Point loc : move.locs)
-		{
-			if (!letters.contains(loc))
-			{
-				boardArea.robotPlaceLetter(loc, move.word.charAt(index), customChars[index]);
-				boardArea.setLetterVisually(loc, move.word.charAt(index));
-			}
-			index++; 
-		}
+		SearchMetrics.get().register(); 
 	}
 	
 	/**
-	 * @param vertical Whether or not we're looking for an 
-	 * up-and-down word (vertical). False is a left-and-right 
-	 * word (horizontal).
+	 * Determines which move to do, given the layout of the 
+	 * board and the letters in our rack. 
 	 */
-	private void findLeftParts(Move move, boolean vertical)
+	public void makeMove()
 	{
-		Point leftMostLoc = move.locs.getFirst(); 
-		
-		// Try to place a tile to the left/above.
-		if ((!vertical && leftMostLoc.x > 0 && 
-			  board[leftMostLoc.x-1][leftMostLoc.y] == Runner.EMPTY) ||
-			 (vertical && leftMostLoc.y > 0 && 
-			  board[leftMostLoc.x][leftMostLoc.y-1] == Runner.EMPTY))
+		long[] before = SearchMetrics.get().snapshot(); 
+		try
+		{
+			chooseMove(); 
+		}
+		finally
 		{
-			for (int k = 0; k < rack.size(); k++)
+			if (Runner.LOG_METRICS)
 			{
-				char firstItem = rack.remove(k); 
-				if (firstItem == '?')
+				System.out.println("Search: " + SearchMetrics.get().since(before)); 
+				if (engine.getCache() != null)
 				{
-					for (char l : Runner.ALPHABET)
-					{
-						findLeftParts(move, leftMostLoc, vertical, l); 
-					}
+					System.out.println("Move cache: " + engine.getCache()); 
 				}
-				else
-				{
-					findLeftParts(move, leftMostLoc, vertical, firstItem);
-				}
-				
-				// Put our first letter back in the rack.
-				rack.add(k, firstItem);
 			}
 		}
 	}
 	
-	private void findLeftParts(Move move, Point leftMostLoc, boolean vertical, char letter)
+	private void chooseMove()
 	{
-		Move newMove = move.clone();
-		newMove.word = letter + newMove.word;
-		if (!vertical)
-		{
-			newMove.locs.addFirst(new Point(leftMostLoc.x-1, leftMostLoc.y));
-		}
-		else
-		{
-			newMove.locs.addFirst(new Point(leftMostLoc.x, leftMostLoc.y-1));
-		}
-		newMove.customChars.addFirst(false);
-		
-		// With this addition, go as far left as possible. 
-		goLeft(newMove, vertical); 
-		
-		Node node = dictionary.getRoot();
+		letters = boardArea.getSubmittedLocations();
 		
-		// Try to build a word using what we have. If we can't
-		// build a word with what we just made, then don't go
-		// any further!
-		for (int si = 0; si < newMove.word.length(); si++)
+		index = 0; 
+		if (Runner.MOVE_MILLIS > 0)
 		{
-			if (node == null)
+			Engine.Result result = engine.findMoves(boardArea.getGrid(), 
+					frame.getRobotRack(), Runner.MOVES_TO_KEEP, Runner.MOVE_MILLIS); 
+			possibleMoves = result.moves; 
+			if (!result.complete)
 			{
-				break; 
+				System.out.println("Ran out of time, using the best moves found so far."); 
 			}
-			node = node.get(newMove.word.charAt(si));
 		}
-		
-		// This word IS possible, so let's keep going!
-		if (node != null)
+		else 
 		{
-			// Before moving forward, move to the right. 
-			if ((node = goRight(node, newMove, vertical)) == null)
-			{
-				return; // No possible word can form from this location. 
-			}
-			
-			// Check if the new node ends. We could make a word here. 
-			if (node.ends)
-			{
-				nodeEnds(newMove, vertical); 
-			}
-			
-			// The word may be made up of only left parts. 
-			findRightParts(node, newMove, vertical);
+			possibleMoves = engine.findMoves(boardArea.getGrid(), frame.getRobotRack(), 
+					Runner.MOVES_TO_KEEP); 
 		}
-		
-		// No matter what, let's try and go left further.
-		if (rack.size() > 0)
+		if (possibleMoves.length == 0)
 		{
-			findLeftParts(newMove, vertical);
+			System.out.println("No moves could be found."); 
+			return; 
 		}
+		
+		Grid grid = boardArea.getGrid(); 
+		Rack rack = frame.getRobotRack(); 
+		String unseen = TileBag.unseen(tiles, grid, rack); 
+		long start = System.nanoTime(); 
+		if (endgameSolver != null && unseen.length() <= Runner.MAX_LETTERS_IN_RACK)
+		{
+			// The bag's empty, so the other player has the rest. 
+			EndgameSolver.Solution solution = endgameSolver.solve(grid, rack, 
+					new Rack(unseen), Runner.ENDGAME_MILLIS); 
+			System.out.println("Endgame: " + solution); 
+			if (solution.move == null)
+			{
+				SearchMetrics.get().addSelection(System.nanoTime() - start); 
+				System.out.println("Best to pass."); 
+				// Nothing was put on the board, so there's nothing to 
+				// flip through either. 
+				possibleMoves = new Move[0]; 
+				return; 
+			}
+			index = indexOf(solution.move); 
+		}
+		else if (simulator != null)
+		{
+			Move[] candidates = Arrays.copyOf(possibleMoves, 
+					Math.min(possibleMoves.length, Runner.SIMULATION_CANDIDATES)); 
+			index = simulator.choose(grid, rack, candidates, 
+					Runner.SIMULATION_PLIES, Runner.SIMULATION_MILLIS); 
+		}
+		SearchMetrics.get().addSelection(System.nanoTime() - start); 
+		System.out.println("Best move: " + possibleMoves[index]); 
+		placeMove(possibleMoves[index]); 
 	}
 	
 	/**
-	 * @param node Our current node.
+	 * Returns where the move is in possibleMoves. If it isn't 
+	 * one of them, it's put first. 
 	 */
-	private void findRightParts(Node node, Move move, boolean vertical)
+	private int indexOf(Move move)
 	{
-		// If we can't place a move to the right, there's no
-		// use in trying. 
-		if ((!vertical && move.locs.getLast().x+1 >= board.length) ||
-			 (vertical && move.locs.getLast().y+1 >= board[0].length))
-		{
-			return; 
-		}
-		
-		char boardAtIndex; 
-		if (!vertical)
-		{
-			boardAtIndex = board[move.locs.getLast().x+1][move.locs.getLast().y]; 
-		}
-		else
-		{
-			boardAtIndex = board[move.locs.getLast().x][move.locs.getLast().y+1]; 
-		}
-		
-		if (boardAtIndex == '~')
-		{
-			return; 
-		}
-		
-		for (int index = 0; index < rack.size(); index++)
+		for (int k = 0; k < possibleMoves.length; k++)
 		{
-			// Clone the move so we're not modifying the original.
-			Move newMove = move.clone();
-			Point loc; 
-			if (!vertical)
-			{
-				loc = new Point(newMove.locs.getLast().x+1, newMove.locs.getLast().y);
-			}
-			else
-			{
-				loc = new Point(newMove.locs.getLast().x, newMove.locs.getLast().y+1);
-			}
-			newMove.locs.add(loc); 
-			newMove.customChars.add(false);
-			
-			char letterFromRack = rack.remove(index); 
-			if (letterFromRack == '?')
-			{
-				for (char l : Runner.ALPHABET)
-				{
-					findRightParts(node, newMove, vertical, l); 
-				}
-			}
-			else
+			Move other = possibleMoves[k]; 
+			if (other.word.equals(move.word) && other.x == move.x && other.y == move.y && 
+				other.vertical == move.vertical && other.blanks == move.blanks)
 			{
-				findRightParts(node, newMove, vertical, letterFromRack); 
+				return k; 
 			}
-			
-			// Remove letter from word, and place letter 
-			// back on to the rack. 
-			rack.add(index, letterFromRack); 
 		}
-	}
-	
-	private void findRightParts(Node node, Move newMove, boolean vertical, char letter)
-	{
-		// Place letter at end of our word. 
-		newMove.word = newMove.word + letter; 
-		
-		// Go to this place in the Trie. 
-		Node child = node.get(letter);
 		
-		// If child isn't null, then this portion of the
-		// word is possible.
-		if (child != null)
-		{
-			if ((child = goRight(child, newMove, vertical)) != null)
-			{
-				// Let's try to expand the word more. 
-				findRightParts(child, newMove, vertical); 
-				
-				// If the child ends here, then we've found a 
-				// complete word. 
-				if (child.ends)
-				{
-					nodeEnds(newMove, vertical); 
-				} 
-			}
-		}
+		Move[] moves = new Move[possibleMoves.length + 1]; 
+		moves[0] = move; 
+		System.arraycopy(possibleMoves, 0, moves, 1, possibleMoves.length); 
+		possibleMoves = moves; 
+		return 0; 
 	}
 	
 	/**
-	 * Returns whether or not this String exists, at least in
-	 * part, in the Trie.
+	 * Puts the letters of the move that aren't on the board
+	 * yet on to the board. 
 	 */
-	private boolean isPossibleForAWord(String word)
+	private void placeMove(Move move)
 	{
-		Node node = dictionary.getRoot();
-		for (int index = 0; index < word.length(); index++)
+		for (int wordi = 0; wordi < move.length(); wordi++)
 		{
-			node = node.get(word.charAt(index)); 
-			if (node == null)
+			Point loc = new Point(move.getX(wordi), move.getY(wordi)); 
+			if (!letters.contains(loc))
 			{
-				return false; 
+				boardArea.robotPlaceLetter(loc, move.word.charAt(wordi), move.isBlank(wordi));
+				boardArea.setLetterVisually(loc, move.word.charAt(wordi));
 			}
 		}
-		return true; 
 	}
 	
 	/**
-	 * From the last position, keep moving to the right until
-	 * we hit the wall, or an empty space.
-	 * @return A valid node if this word is possible, null if
-	 * otherwise. 
+	 * Takes the current move off the board and puts the one before 
+	 * it (up) or after it in possibleMoves on instead. Does nothing 
+	 * if there isn't one. 
 	 */
-	private Node goRight(Node node, Move move, boolean vertical)
-	{
-		// If the space to the right of here is already
-		// filled, then we need to go all the way to the
-		// right. 
-		Point currentLoc = move.locs.getLast(); 
-		while ((!vertical && currentLoc.x + 1 < board.length &&
-			board[currentLoc.x+1][currentLoc.y] != Runner.EMPTY &&
-			board[currentLoc.x+1][currentLoc.y] != '~') ||
-				(vertical && currentLoc.y + 1 < board[0].length &&
-			board[currentLoc.x][currentLoc.y+1] != Runner.EMPTY &&
-			board[currentLoc.x][currentLoc.y+1] != '~'))
-		{
-			Point nextLoc; 
-			if (!vertical)
-			{
-				nextLoc = new Point(currentLoc.x+1, currentLoc.y); 
-			}
-			else
-			{
-				nextLoc = new Point(currentLoc.x, currentLoc.y+1); 
-			}
-			move.locs.addLast(nextLoc);
-			move.customChars.addLast(false);
-			
-			char letter; 
-			if (!vertical)
-			{
-				letter = board[currentLoc.x+1][currentLoc.y]; 
-			}
-			else
-			{
-				letter = board[currentLoc.x][currentLoc.y+1]; 
-			}
-			move.word = move.word + letter; 
-			node = node.get(letter);
-			
-			if (node == null)
-			{
-				return null; 
-			}
-			else
-			{
-				currentLoc = nextLoc;
-			}
-		}
-		return node; 
-	}
-	
-	private void goLeft(Move move, boolean vertical)
-	{
-		Point currentPoint = move.locs.getFirst(); 
-		while ((!vertical && currentPoint.x > 0 &&
-			board[currentPoint.x-1][currentPoint.y] != Runner.EMPTY &&
-			board[currentPoint.x-1][currentPoint.y] != '~') ||
-				(vertical && currentPoint.y > 0 &&
-			board[currentPoint.x][currentPoint.y-1] != Runner.EMPTY &&
-			board[currentPoint.x][currentPoint.y-1] != '~'))
-		{
-			Point nextPoint;
-			if (!vertical)
-			{
-				nextPoint = new Point(currentPoint.x-1, currentPoint.y); 
-			}
-			else
-			{
-				nextPoint = new Point(currentPoint.x, currentPoint.y-1); 
-			}
-			move.locs.addFirst(nextPoint);
-			move.customChars.addFirst(false);
-			move.word = board[nextPoint.x][nextPoint.y] + move.word;  
-			currentPoint = nextPoint; 
-		}
-	}
-	
-	private void nodeEnds(Move move, boolean vertical)
+	public void changeMove(boolean up)
 	{
-		// Word must be in dictionary
-		if (!dictionary.contains(move.word))
+		int next = up ? index - 1 : index + 1; 
+		if (next < 0 || next >= getLength())
 		{
 			return; 
 		}
 		
-		// FIRST, check to see if this horizontal
-		// word created any vertical words. 
-		boolean valid = true; 
-		int letterIndex = 0; 
-		for (Point point : move.locs)
+		Move move = possibleMoves[index]; 
+		for (int wordi = 0; wordi < move.length(); wordi++)
 		{
-			if (!checkWord(point, move.word.charAt(letterIndex++), !vertical))
-			{
-				valid = false; 
-				break; 
-			}
-		}
-		if (valid)
-		{
-			letterIndex = 0; 
-			Boolean[] customChars = new Boolean[move.customChars.size()]; 
-			customChars = move.customChars.toArray(customChars); 
-			for (Point point : move.locs)
-			{ 
-				if (!letters.contains(point))
-				{
-					boardArea.robotPlaceLetter(point, move.word.charAt(letterIndex), customChars[letterIndex++]);
-				}
-			}
-			move.score = boardArea.getScoreFromMove(false);
-			possibleMovesQueue.add(move); 
-			
-			for (Point point : move.locs)
+			Point loc = new Point(move.getX(wordi), move.getY(wordi)); 
+			if (!letters.contains(loc))
 			{
-				if (!letters.contains(point))
-				{
-					boardArea.robotRemoveLetter(point); 
-				}
+				boardArea.robotRemoveLetter(loc);
+				boardArea.removeLetterVisually(loc);
 			}
 		}
+		
+		index = next; 
+		placeMove(possibleMoves[index]); 
 	}
 	
 	/**
-	 * Checks with the Trie if the word at the point is
-	 * valid. 
-	 * @param board The temporary version of the board; this
-	 * time, with our letters from this move included. 
-	 * @param vertical Whether or not the word is vertical
-	 * or horizontal. 
+	 * Returns the leave table, or null if there isn't one (or it 
+	 * can't be read), in which case the robot just plays for 
+	 * points. 
 	 */
-	private boolean checkWord(Point start, char c, boolean vertical)
+	private static LeaveTable loadLeaves()
 	{
-		// If this point is off the screen, it isn't valid. 
-		if (start.x < 0 || start.x >= board.length ||
-			start.y < 0 || start.y >= board[0].length)
+		File file = new File(Runner.LEAVES_FILE_NAME); 
+		if (!file.exists())
 		{
-			return false; 
+			return null; 
 		}
-		
-		String word = c + ""; 
-		if (vertical)
+		try
 		{
-			// Go as far up as possible.
-			int topY = start.y;
-			while (true)
-			{
-				if (topY != 0 && 
-					board[start.x][topY-1] != '~' &&
-					board[start.x][topY-1] != Runner.EMPTY)
-				{
-					topY--; 
-					word = board[start.x][topY] + word; 
-				}
-				else
-				{
-					break; 
-				}
-			}
-			
-			// Go as far down as possible. 
-			int bottomY = start.y; 
-			while (true)
-			{
-				if (bottomY+1 < board[0].length && 
-					board[start.x][bottomY+1] != '~' &&
-					board[start.x][bottomY+1] != Runner.EMPTY)
-				{
-					bottomY++; 
-					word = word + board[start.x][bottomY]; 
-				}
-				else
-				{
-					break; 
-				}
-			}
-			
-			if (word.length() == 1)
-			{
-				return true; 
-			}
-			
-			// Let's check this word in the DAWG. If it's valid,
-			// return true. 
-			return dictionary.contains(word);
+			return LeaveTable.load(file); 
 		}
-		else
+		catch (IOException ex)
 		{
-			// Go as far left as possible.
-			int leftX = start.x;
-			while (true)
-			{
-				if (leftX != 0 && 
-					board[leftX-1][start.y] != '~' && 
-					board[leftX-1][start.y] != Runner.EMPTY)
-				{
-					leftX--; 
-					word = board[leftX][start.y] + word; 
-				}
-				else
-				{
-					break; 
-				}
-			}
-			
-			// Go as far right as possible. 
-			int rightX = start.x; 
-			while (true)
-			{
-				if (rightX+1 < board.length && 
-					board[rightX+1][start.y] != '~' &&
-					board[rightX+1][start.y] != Runner.EMPTY)
-				{
-					rightX++; 
-					word = word + board[rightX][start.y]; 
-				}
-				else
-				{
-					break; 
-				}
-			}
-			
-			if (word.length() == 1)
-			{
-				return true; 
-			}
-			
-			// Let's check this word in the DAWG. If it's valid,
-			// return true. 
-			return dictionary.contains(word);
-		}
-	}
-	
-	public void changeMove(boolean up)
-	{
-		for (Point loc : possibleMoves[index].locs)
-		{
-			if (!letters.contains(loc))
-			{
-				boardArea.robotRemoveLetter(loc);
-				boardArea.removeLetterVisually(loc);
-			}
-		}
-		
-		if (up)
-		{
-			index--; 
-		}
-		else
-		{
-			index++; 
-		}
-		
-		String str = possibleMoves[index].word; 
-		int wordi = 0; 
-		for (Point loc : possibleMoves[index].locs)
-		{
-			if (!letters.contains(loc))
-			{
-				boardArea.robotPlaceLetter(loc, str.charAt(wordi), false); // TODO
-				boardArea.setLetterVisually(loc, str.charAt(wordi));
-			}
-			wordi++; 
+			System.out.println(ex.getMessage() + ", playing for points only"); 
+			return null; 
 		}
 	}
 	
 	public int getIndex() { return index; }
-	public int getLength() { return possibleMoves.length; }
+	public int getLength() { return possibleMoves == null ? 0 : possibleMoves.length; }
 }
@@ -55,6 +55,75 @@ public class Runner
 	
 	public static final char EMPTY = '_';
 	
+	/**
+	 * Whether the robot splits its search between every 
+	 * core (the common ForkJoinPool), or searches on 
+	 * one thread. 
+	 */
+	public static final boolean PARALLEL_SEARCH = true; 
+	
+	/**
+	 * How many of its best moves the robot keeps to 
+	 * choose between. The rest are thrown away as soon 
+	 * as they're found. 
+	 */
+	public static final int MOVES_TO_KEEP = 100; 
+	
+	/**
+	 * About how much memory the robot may use remembering 
+	 * the moves it found for recent positions (see 
+	 * MoveCache), in megabytes, or 0 to not remember any. 
+	 */
+	public static final int MOVE_CACHE_MEGABYTES = 16; 
+	
+	/**
+	 * How long the robot may spend finding its moves, in 
+	 * milliseconds, or 0 to always find every move. If 
+	 * the time runs out, it plays the best it found. 
+	 */
+	public static final int MOVE_MILLIS = 0; 
+	
+	/**
+	 * Whether the robot prints what its search did (see 
+	 * SearchMetrics) after every turn. The same numbers, 
+	 * added up over the whole game, can always be seen 
+	 * through JMX. 
+	 */
+	public static final boolean LOG_METRICS = false; 
+	
+	/**
+	 * Whether the robot plays out its best few moves 
+	 * (see MonteCarlo) to choose between them, rather 
+	 * than playing the one that scores the most. 
+	 */
+	public static final boolean SIMULATE_MOVES = false; 
+	
+	/**
+	 * How many of its best moves the robot plays out, 
+	 * how many moves each playout goes (counting its 
+	 * own), and how long it takes, in milliseconds. 
+	 */
+	public static final int 
+		SIMULATION_CANDIDATES = 10, 
+		SIMULATION_PLIES = 3, 
+		SIMULATION_MILLIS = 3000; 
+	
+	/**
+	 * Whether the robot searches the endgame (see 
+	 * EndgameSolver) once the bag is empty, how long it 
+	 * may take, in milliseconds, and how much memory its 
+	 * transposition table may use, in megabytes (and again 
+	 * for the moves it remembers). It's off by default: 
+	 * the solver is exploratory, and on a full 7-vs-7 
+	 * endgame it usually takes the whole time on every 
+	 * move without finding the exact answer. 
+	 */
+	public static final boolean SOLVE_ENDGAMES = false; 
+	
+	public static final int 
+		ENDGAME_MILLIS = 5000, 
+		ENDGAME_TABLE_MEGABYTES = 64; 
+	
 	public static final Font 
 		LETTER_FONT = new Font("Dialog", Font.PLAIN, 26); 
 	
@@ -64,6 +133,12 @@ public class Runner
 			= "ScrabbleBot/Lightning Round Board.txt";
 //			= "ScrabbleBot/Words With Friends Board.txt"; 
 	
+	/**
+	 * Either a word list, one word per line, or a lexicon compiled
+	 * from one (see Lexicon). A word list is built into a DAWG and
+	 * GADDAG when the game starts, unless a compiled lexicon for it
+	 * sits next to it. 
+	 */
 	public static final String DICTIONARY_FILE_NAME 
 			= "ScrabbleBot/Collins Scrabble Words (2019).txt";
 //			= "ScrabbleBot/Google 20k Words.txt"; 
@@ -72,6 +147,22 @@ public class Runner
 //			= "ScrabbleBot/Letter Points.txt"; 
 			= "ScrabbleBot/Words With Friends Letter Points.txt"; 
 	
+	/**
+	 * How many of each tile are in the bag, for games 
+	 * played without a Frame (see Simulator). 
+	 */
+	public static final String LETTER_AMOUNTS_FILE_NAME
+//			= "ScrabbleBot/Letter Amounts.txt"; 
+			= "ScrabbleBot/Words With Friends Letter Amounts.txt"; 
+	
+	/**
+	 * What the tiles left in a rack are worth, worked out 
+	 * by LeaveTable. If the file is there, the robot plays 
+	 * for its score plus its leave, not just its score. 
+	 */
+	public static final String LEAVES_FILE_NAME
+			= "ScrabbleBot/Leaves.lvt"; 
+	
 	public static void main(String[] args) 
 	{
 		new Frame(); 
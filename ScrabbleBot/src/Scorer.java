@@ -0,0 +1,160 @@
+/**
+ * Works out how many points a word placed on a board gets. It only
+ * reads the arrays it's given and never changes anything, so one
+ * Scorer can be shared by every search, on any thread.
+ *
+ * Boards are flat arrays, y * width + x, like in Grid.
+ */
+public final class Scorer
+{
+	private final Layout layout;
+
+	private final int width, height;
+
+	/**
+	 * What the letter on each space is multiplied by (1, 2 or 3),
+	 * and what the word through it is multiplied by. These only
+	 * count for tiles placed this turn.
+	 */
+	private final int[] letterMultipliers, wordMultipliers;
+
+	/**
+	 * How many points each letter is worth, letterValues[c - 'A'].
+	 */
+	private final int[] letterValues;
+
+	public Scorer(Layout layout, int[] letterValues)
+	{
+		this.layout = layout;
+		width = layout.getWidth();
+		height = layout.getHeight();
+		this.letterValues = letterValues.clone();
+
+		letterMultipliers = new int[width * height];
+		wordMultipliers = new int[width * height];
+		for (int y = 0; y < height; y++)
+		{
+			for (int x = 0; x < width; x++)
+			{
+				int space = y * width + x;
+				letterMultipliers[space] = 1;
+				wordMultipliers[space] = 1;
+				switch (layout.getModifier(x, y))
+				{
+				case Runner.DOUBLE_LETTER:
+					letterMultipliers[space] = 2;
+					break;
+				case Runner.TRIPLE_LETTER:
+					letterMultipliers[space] = 3;
+					break;
+				case Runner.DOUBLE_WORD:
+					wordMultipliers[space] = 2;
+					break;
+				case Runner.TRIPLE_WORD:
+					wordMultipliers[space] = 3;
+					break;
+				}
+			}
+		}
+	}
+
+	public Layout getLayout()
+	{
+		return layout;
+	}
+
+	/**
+	 * Returns the points for putting a word on the board: the word
+	 * itself (if it's longer than one letter), plus every word of
+	 * two or more letters it makes going the other way.
+	 * @param letters The letters on the board before the word is
+	 * placed, Runner.EMPTY where there isn't one.
+	 * @param blanks Which of those letters are blanks.
+	 * @param x The x coordinate of the word's first letter.
+	 * @param y The y coordinate of the word's first letter.
+	 * @param word The whole word, including letters already on the
+	 * board.
+	 * @param wordBlanks Bit i is set if word.charAt(i) is a blank.
+	 */
+	public int score(char[] letters, boolean[] blanks,
+			int x, int y, boolean vertical, CharSequence word, long wordBlanks)
+	{
+		char[] chars = word.toString().toCharArray();
+		return score(letters, blanks, x, y, vertical,
+				chars, 0, chars.length, wordBlanks);
+	}
+
+	/**
+	 * The same, but with the word read out of part of a buffer, so a
+	 * search can score the word it's building before it makes a
+	 * Move (or even a String) out of it.
+	 * @param start Where the word starts in the buffer.
+	 * @param length How long the word is.
+	 */
+	public int score(char[] letters, boolean[] blanks,
+			int x, int y, boolean vertical,
+			char[] word, int start, int length, long wordBlanks)
+	{
+		int dx = vertical ? 0 : 1, dy = vertical ? 1 : 0;
+
+		int mainScore = 0, wordMultiplier = 1, crossScores = 0;
+		for (int index = 0; index < length; index++, x += dx, y += dy)
+		{
+			int space = y * width + x;
+			if (letters[space] != Runner.EMPTY)
+			{
+				// Already on the board, so no modifier.
+				mainScore += valueAt(letters, blanks, space);
+				continue;
+			}
+
+			int value = (wordBlanks & (1L << index)) != 0 ?
+					0 : letterValues[word[start + index] - 'A'];
+			int letterMultiplier = letterMultipliers[space];
+			int multiplier = wordMultipliers[space];
+
+			mainScore += value * letterMultiplier;
+			wordMultiplier *= multiplier;
+
+			// The word going the other way through this tile, if
+			// there is one.
+			int crossScore = 0;
+			boolean crossWord = false;
+			for (int cx = x - dy, cy = y - dx;
+					hasLetter(letters, cx, cy); cx -= dy, cy -= dx)
+			{
+				crossScore += valueAt(letters, blanks, cy * width + cx);
+				crossWord = true;
+			}
+			for (int cx = x + dy, cy = y + dx;
+					hasLetter(letters, cx, cy); cx += dy, cy += dx)
+			{
+				crossScore += valueAt(letters, blanks, cy * width + cx);
+				crossWord = true;
+			}
+			if (crossWord)
+			{
+				crossScores += (crossScore + value * letterMultiplier) * multiplier;
+			}
+		}
+
+		if (length < 2)
+		{
+			// A single tile only scores for the word it makes
+			// going the other way.
+			return crossScores;
+		}
+		return mainScore * wordMultiplier + crossScores;
+	}
+
+	private boolean hasLetter(char[] letters, int x, int y)
+	{
+		return x >= 0 && x < width && y >= 0 && y < height &&
+				letters[y * width + x] != Runner.EMPTY;
+	}
+
+	private int valueAt(char[] letters, boolean[] blanks, int space)
+	{
+		return blanks[space] ? 0 : letterValues[letters[space] - 'A'];
+	}
+}
@@ -0,0 +1,196 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counts what the engine spends its time on, across every thread
+ * and every Engine in the program. See SearchMetricsMBean for what
+ * each number is.
+ *
+ * The counters are LongAdders, which keep a separate cell for each
+ * thread that contends for them, so threads searching at the same
+ * time don't fight over one counter. The move generator doesn't
+ * even touch them for every node: it counts in its own fields, and
+ * adds them in once a search is over.
+ */
+public final class SearchMetrics implements SearchMetricsMBean
+{
+	private static final SearchMetrics METRICS = new SearchMetrics();
+
+	private final LongAdder searches = new LongAdder();
+	private final LongAdder nodes = new LongAdder();
+	private final LongAdder lookups = new LongAdder();
+	private final LongAdder rejections = new LongAdder();
+	private final LongAdder scored = new LongAdder();
+	private final LongAdder emitted = new LongAdder();
+	private final LongAdder generationNanos = new LongAdder();
+	private final LongAdder scoringNanos = new LongAdder();
+	private final LongAdder selectionNanos = new LongAdder();
+
+	private boolean registered;
+
+	private SearchMetrics()
+	{
+	}
+
+	public static SearchMetrics get()
+	{
+		return METRICS;
+	}
+
+	/**
+	 * Makes the metrics visible through JMX, if they aren't
+	 * already. If they can't be, the search goes on without them.
+	 */
+	public synchronized void register()
+	{
+		if (registered)
+		{
+			return;
+		}
+		try
+		{
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+					new ObjectName("ScrabbleBot:type=SearchMetrics"));
+			registered = true;
+		}
+		catch (JMException ex)
+		{
+			System.out.println("Search metrics aren't available through JMX: " +
+					ex.getMessage());
+		}
+	}
+
+	/**
+	 * Adds in one search by a move generator.
+	 */
+	void addSearch(long nodes, long rejections, long scored, long emitted, long scoringNanos)
+	{
+		this.nodes.add(nodes);
+		this.rejections.add(rejections);
+		this.scored.add(scored);
+		this.emitted.add(emitted);
+		this.scoringNanos.add(scoringNanos);
+	}
+
+	/**
+	 * Adds in a whole search for moves by an Engine, however many
+	 * threads it was split between.
+	 */
+	void addGeneration(long nanos)
+	{
+		searches.increment();
+		generationNanos.add(nanos);
+	}
+
+	void addLookups(long lookups)
+	{
+		this.lookups.add(lookups);
+	}
+
+	void addSelection(long nanos)
+	{
+		selectionNanos.add(nanos);
+	}
+
+	@Override
+	public long getSearches()
+	{
+		return searches.sum();
+	}
+
+	@Override
+	public long getNodesVisited()
+	{
+		return nodes.sum();
+	}
+
+	@Override
+	public long getDictionaryLookups()
+	{
+		return lookups.sum();
+	}
+
+	@Override
+	public long getCrossCheckRejections()
+	{
+		return rejections.sum();
+	}
+
+	@Override
+	public long getMovesScored()
+	{
+		return scored.sum();
+	}
+
+	@Override
+	public long getMovesEmitted()
+	{
+		return emitted.sum();
+	}
+
+	@Override
+	public long getGenerationMillis()
+	{
+		return generationNanos.sum() / 1_000_000;
+	}
+
+	@Override
+	public long getScoringMillis()
+	{
+		return scoringNanos.sum() / 1_000_000;
+	}
+
+	@Override
+	public long getSelectionMillis()
+	{
+		return selectionNanos.sum() / 1_000_000;
+	}
+
+	@Override
+	public void reset()
+	{
+		for (LongAdder adder : new LongAdder[] { searches, nodes, lookups,
+				rejections, scored, emitted, generationNanos, scoringNanos, selectionNanos })
+		{
+			adder.reset();
+		}
+	}
+
+	/**
+	 * What every counter is right now, to compare with later (see
+	 * since).
+	 */
+	public long[] snapshot()
+	{
+		return new long[] { searches.sum(), nodes.sum(), lookups.sum(),
+				rejections.sum(), scored.sum(), emitted.sum(),
+				generationNanos.sum(), scoringNanos.sum(), selectionNanos.sum() };
+	}
+
+	/**
+	 * What the counters went up by since the snapshot was taken,
+	 * as one line.
+	 */
+	public String since(long[] before)
+	{
+		long[] now = snapshot();
+		return (now[0] - before[0]) + " searches, " +
+				(now[1] - before[1]) + " nodes, " +
+				(now[2] - before[2]) + " lookups, " +
+				(now[3] - before[3]) + " cross-check rejections, " +
+				(now[4] - before[4]) + " scored, " +
+				(now[5] - before[5]) + " emitted; " +
+				(now[6] - before[6]) / 1_000_000 + " ms generating (about " +
+				(now[7] - before[7]) / 1_000_000 + " ms scoring), " +
+				(now[8] - before[8]) / 1_000_000 + " ms selecting";
+	}
+
+	@Override
+	public String toString()
+	{
+		return since(new long[snapshot().length]);
+	}
+}
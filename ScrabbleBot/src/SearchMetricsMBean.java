@@ -0,0 +1,60 @@
+/**
+ * What SearchMetrics shows through JMX (in jconsole or VisualVM,
+ * under ScrabbleBot, type SearchMetrics). Every number is a total
+ * since the program started, or since reset() was last called.
+ */
+public interface SearchMetricsMBean
+{
+	/**
+	 * How many times moves were searched for.
+	 */
+	long getSearches();
+
+	/**
+	 * How many GADDAG nodes the move generator went to.
+	 */
+	long getNodesVisited();
+
+	/**
+	 * How many words were looked up in the dictionary: by
+	 * containsAll, and while working out cross-checks (one for each
+	 * letter tried on each space). Single contains calls aren't
+	 * counted, so a lookup costs no more than it did.
+	 */
+	long getDictionaryLookups();
+
+	/**
+	 * How many times a tile in the rack could have gone on a space,
+	 * as far as the GADDAG was concerned, but would have made a bad
+	 * word the other way.
+	 */
+	long getCrossCheckRejections();
+
+	long getMovesScored();
+
+	/**
+	 * How many moves were handed on by the move generator, after
+	 * moves below what was wanted were dropped.
+	 */
+	long getMovesEmitted();
+
+	/**
+	 * Time spent searching for moves, scoring included.
+	 */
+	long getGenerationMillis();
+
+	/**
+	 * About how much of the generation time went on scoring. Only
+	 * some moves are timed, and the rest are taken to be the same.
+	 */
+	long getScoringMillis();
+
+	/**
+	 * Time the robot spent choosing between the moves it found
+	 * (playing out endgames and simulations). The searches those
+	 * do count towards the generation time as well.
+	 */
+	long getSelectionMillis();
+
+	void reset();
+}
@@ -0,0 +1,307 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Plays whole games, robot against robot, with no Frame or Board,
+ * as fast as they can be played. Many games are played at once,
+ * one per thread, each with its own bag seeded from the game's
+ * number, so the same seed plays the same games however many
+ * threads there are.
+ *
+ * Both robots play their best-scoring move every turn. If a robot
+ * can't play, it swaps its whole rack (when there are enough tiles
+ * left in the bag) or passes. A game ends when someone plays their
+ * last tile with the bag empty, or when nobody has played a move in
+ * six turns. Then, like the real game, the tiles left in each rack
+ * count against it, and whoever went out gets the other's.
+ *
+ * A bingo is a move that uses a full rack. Nothing on the board
+ * gives a bonus for one (the Board doesn't either), so they're only
+ * counted.
+ */
+public class Simulator
+{
+	private static final int PLAYERS = 2;
+
+	/**
+	 * After this many turns in a row without a move being played,
+	 * the game is over.
+	 */
+	private static final int MAX_SCORELESS_TURNS = 6;
+
+	private Engine engine;
+
+	private Layout layout;
+
+	private int[] letterValues;
+
+	/**
+	 * Every tile in a full bag.
+	 */
+	private String tiles;
+
+	/**
+	 * Told about every turn, or null.
+	 */
+	private BiConsumer<Rack, Move> observer;
+
+	/**
+	 * @param tiles Every tile in a full bag (see TileBag.readTiles).
+	 */
+	public Simulator(Lexicon lexicon, Layout layout, int[] letterValues, String tiles)
+	{
+		this(lexicon, layout, letterValues, tiles, null);
+	}
+
+	/**
+	 * @param leaves If not null, both robots play for their score
+	 * plus their leave (see LeaveTable), instead of just points.
+	 */
+	public Simulator(Lexicon lexicon, Layout layout, int[] letterValues, String tiles,
+			LeaveTable leaves)
+	{
+		// Games are played side by side, so each search stays on
+		// its own game's thread.
+		engine = new Engine(lexicon, letterValues, null, leaves);
+		this.layout = layout;
+		this.letterValues = letterValues.clone();
+		this.tiles = tiles;
+	}
+
+	/**
+	 * Has every turn of every game handed to the observer, with the
+	 * rack the turn started with and the move played (null for a
+	 * swap or a pass). It's called from whichever thread is playing
+	 * the game, and mustn't keep the rack, which keeps changing.
+	 */
+	public void setObserver(BiConsumer<Rack, Move> observer)
+	{
+		this.observer = observer;
+	}
+
+	/**
+	 * How one game went.
+	 */
+	public static class Game
+	{
+		final int[] scores = new int[PLAYERS];
+
+		/**
+		 * How many turns were taken, and in how many of them a move
+		 * was played (rather than swapping or passing).
+		 */
+		int turns, moves;
+
+		int bingos;
+	}
+
+	/**
+	 * Plays one game from start to finish.
+	 */
+	public Game play(long seed)
+	{
+		Game game = new Game();
+		TileBag bag = new TileBag(tiles, new Random(seed));
+		Grid grid = new Grid(layout);
+
+		Rack[] racks = new Rack[PLAYERS];
+		for (int player = 0; player < PLAYERS; player++)
+		{
+			racks[player] = new Rack();
+			bag.fill(racks[player]);
+		}
+
+		int player = 0, scoreless = 0;
+		while (scoreless < MAX_SCORELESS_TURNS)
+		{
+			Rack rack = racks[player];
+			game.turns++;
+
+			Move[] best = engine.findMoves(grid, rack, 1);
+			if (observer != null)
+			{
+				observer.accept(rack, best.length == 0 ? null : best[0]);
+			}
+			if (best.length == 0)
+			{
+				if (bag.size() >= Runner.MAX_LETTERS_IN_RACK)
+				{
+					bag.exchange(rack);
+				}
+				scoreless++;
+			}
+			else
+			{
+				Move move = best[0];
+				int full = rack.size();
+				if (rack.remove(grid, move) == Runner.MAX_LETTERS_IN_RACK &&
+					full == Runner.MAX_LETTERS_IN_RACK)
+				{
+					game.bingos++;
+				}
+				grid = grid.play(move);
+				game.scores[player] += move.score;
+				game.moves++;
+				scoreless = 0;
+
+				bag.fill(rack);
+				if (rack.isEmpty())
+				{
+					// Went out, and gets what everyone else is
+					// left holding.
+					for (int other = 0; other < PLAYERS; other++)
+					{
+						int left = value(racks[other]);
+						game.scores[other] -= left;
+						game.scores[player] += left;
+					}
+					return game;
+				}
+			}
+
+			player = (player + 1) % PLAYERS;
+		}
+
+		for (int other = 0; other < PLAYERS; other++)
+		{
+			game.scores[other] -= value(racks[other]);
+		}
+		return game;
+	}
+
+	/**
+	 * Plays games 0 to count - 1, game k with seed + k, spread over
+	 * some threads.
+	 */
+	public Results playAll(int count, int threads, long seed)
+			throws InterruptedException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		Results results = new Results();
+		long start = System.nanoTime();
+		try
+		{
+			ArrayList<Future<Game>> games = new ArrayList<>(count);
+			for (int k = 0; k < count; k++)
+			{
+				long gameSeed = seed + k;
+				games.add(executor.submit(() -> play(gameSeed)));
+			}
+			for (Future<Game> game : games)
+			{
+				results.add(game.get());
+			}
+		}
+		catch (ExecutionException ex)
+		{
+			throw new IllegalStateException("A game failed", ex.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		results.nanos = System.nanoTime() - start;
+		return results;
+	}
+
+	/**
+	 * What the tiles in a rack are worth. Blanks are worth nothing.
+	 */
+	private int value(Rack rack)
+	{
+		int value = 0;
+		for (char letter : Runner.ALPHABET)
+		{
+			value += rack.count(letter) * letterValues[letter - 'A'];
+		}
+		return value;
+	}
+
+	/**
+	 * Totals over a batch of games.
+	 */
+	public static class Results
+	{
+		int games, moves, bingos;
+
+		long totalScore;
+
+		/**
+		 * How long the games took to play, altogether.
+		 */
+		long nanos;
+
+		void add(Game game)
+		{
+			games++;
+			moves += game.moves;
+			bingos += game.bingos;
+			for (int score : game.scores)
+			{
+				totalScore += score;
+			}
+		}
+
+		public double gamesPerSecond()
+		{
+			return games / (nanos / 1e9);
+		}
+
+		/**
+		 * The average final score of one player in one game.
+		 */
+		public double meanScore()
+		{
+			return (double)totalScore / (games * PLAYERS);
+		}
+
+		/**
+		 * The fraction of moves played that were bingos.
+		 */
+		public double bingoRate()
+		{
+			return moves == 0 ? 0 : (double)bingos / moves;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%d games in %.1f s (%.1f games/s), " +
+					"mean score %.1f, %d bingos in %d moves (%.2f%%, %.2f per game)",
+					games, nanos / 1e9, gamesPerSecond(), meanScore(),
+					bingos, moves, bingoRate() * 100, (double)bingos / games);
+		}
+	}
+
+	/**
+	 * Plays a batch of games on the board and letters set in Runner,
+	 * using the leave table if there is one.
+	 * Usage: Simulator [games] [threads] [seed]
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		int games = args.length > 0 ?
+				Integer.parseInt(args[0]) : 100;
+		int threads = args.length > 1 ?
+				Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long seed = args.length > 2 ?
+				Long.parseLong(args[2]) : 0;
+		File leaves = new File(Runner.LEAVES_FILE_NAME);
+
+		Simulator simulator = new Simulator(
+				Lexicon.load(Runner.DICTIONARY_FILE_NAME),
+				Layout.load(new File(Runner.BOARD_FILE_NAME)),
+				Engine.readLetterValues(Runner.LETTER_POINTS_FILE_NAME),
+				TileBag.readTiles(Runner.LETTER_AMOUNTS_FILE_NAME),
+				leaves.exists() ? LeaveTable.load(leaves) : null);
+
+		System.out.println(simulator.playAll(games, threads, seed));
+	}
+}
@@ -0,0 +1,189 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * The tiles that haven't been drawn yet. The bag is shuffled with
+ * its own Random, so a bag made with the same seed always hands
+ * out the same tiles in the same order, and a whole game can be
+ * played again exactly.
+ */
+public class TileBag
+{
+	private char[] tiles;
+
+	/**
+	 * How many tiles are left. The bag is tiles[0] to
+	 * tiles[size - 1], and tiles are drawn off the end.
+	 */
+	private int size;
+
+	private Random random;
+
+	/**
+	 * @param tiles Every tile in the bag, '?' for a blank, in any
+	 * order.
+	 */
+	public TileBag(CharSequence tiles, Random random)
+	{
+		this.random = random;
+		this.tiles = tiles.toString().toCharArray();
+		size = this.tiles.length;
+		for (int k = size - 1; k > 0; k--)
+		{
+			swap(k, random.nextInt(k + 1));
+		}
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Takes a tile out of the bag.
+	 * @throws IllegalStateException if the bag is empty.
+	 */
+	public char draw()
+	{
+		if (size == 0)
+		{
+			throw new IllegalStateException("The bag is empty");
+		}
+		return tiles[--size];
+	}
+
+	/**
+	 * Draws until the rack is full, or the bag is empty.
+	 */
+	public void fill(Rack rack)
+	{
+		while (rack.size() < Runner.MAX_LETTERS_IN_RACK && size > 0)
+		{
+			rack.add(draw());
+		}
+	}
+
+	/**
+	 * Puts a tile back in the bag, somewhere random.
+	 */
+	public void add(char tile)
+	{
+		if (size == tiles.length)
+		{
+			char[] bigger = new char[tiles.length * 2 + 1];
+			System.arraycopy(tiles, 0, bigger, 0, size);
+			tiles = bigger;
+		}
+		tiles[size] = tile;
+		swap(size, random.nextInt(size + 1));
+		size++;
+	}
+
+	/**
+	 * Swaps every tile in the rack for new ones. The new tiles are
+	 * drawn before the old ones go back, so none of them come
+	 * straight back out.
+	 */
+	public void exchange(Rack rack)
+	{
+		String old = rack.toString();
+		for (int k = 0; k < old.length(); k++)
+		{
+			rack.remove(old.charAt(k));
+		}
+		fill(rack);
+		for (int k = 0; k < old.length(); k++)
+		{
+			add(old.charAt(k));
+		}
+	}
+
+	private void swap(int a, int b)
+	{
+		char tile = tiles[a];
+		tiles[a] = tiles[b];
+		tiles[b] = tile;
+	}
+
+	/**
+	 * Reads a letter amounts file (each line a letter, or '?' for
+	 * blanks, and how many of it there are) into every tile of a
+	 * full bag, for making TileBags from.
+	 */
+	public static String readTiles(String fileName)
+	{
+		Scanner scanner = null;
+		try
+		{
+			scanner = new Scanner(new File(fileName));
+		}
+		catch (FileNotFoundException ex)
+		{
+			ex.printStackTrace();
+			System.exit(0);
+		}
+
+		StringBuilder tiles = new StringBuilder();
+		while (scanner.hasNext())
+		{
+			char tile = Character.toUpperCase(scanner.next().charAt(0));
+			int amount = scanner.nextInt();
+			if ((tile >= 'A' && tile <= 'Z') || tile == Rack.BLANK_CHAR)
+			{
+				for (int k = 0; k < amount; k++)
+				{
+					tiles.append(tile);
+				}
+			}
+		}
+		scanner.close();
+
+		return tiles.toString();
+	}
+
+	/**
+	 * The tiles that are neither on the board nor in the rack: the
+	 * opponent's rack and the bag, together.
+	 * @param tiles Every tile in a full bag.
+	 */
+	public static String unseen(String tiles, Grid grid, Rack rack)
+	{
+		Rack unseen = new Rack(tiles);
+		for (int y = 0; y < grid.getHeight(); y++)
+		{
+			for (int x = 0; x < grid.getWidth(); x++)
+			{
+				if (grid.hasLetter(x, y))
+				{
+					takeIfThere(unseen, grid.isBlank(x, y) ?
+							Rack.BLANK_CHAR : grid.get(x, y));
+				}
+			}
+		}
+		String held = rack.toString();
+		for (int k = 0; k < held.length(); k++)
+		{
+			takeIfThere(unseen, held.charAt(k));
+		}
+		return unseen.toString();
+	}
+
+	/**
+	 * Tiles typed in by hand don't have to match the bag, so there
+	 * might be more of a letter out than the bag ever had.
+	 */
+	private static void takeIfThere(Rack tiles, char tile)
+	{
+		if (tiles.count(tile) > 0)
+		{
+			tiles.remove(tile);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+import java.util.Arrays;
+
+/**
+ * Keeps the best few moves out of all the moves a search finds, so
+ * the rest can be thrown away as soon as they're found.
+ *
+ * The moves are kept in a min-heap on their equity (see Move), so
+ * the worst move kept is always on top, and can be compared against
+ * (or swapped out for) a new move in O(log limit). The equities sit
+ * in their own int array next to the moves, so the heap is sifted
+ * without touching the Move objects unless two are the same.
+ * Then Move.compareTo decides, so which moves are kept doesn't
+ * depend on the order they were found in.
+ */
+public class TopMoves implements MoveSink
+{
+	/**
+	 * How many moves are kept, at most.
+	 */
+	private int limit;
+
+	private int size;
+
+	/**
+	 * The heap. equities[k] is the equity of moves[k], and moves[k]
+	 * is never better than its children, 2k+1 and 2k+2.
+	 */
+	private int[] equities;
+	private Move[] moves;
+
+	public TopMoves(int limit)
+	{
+		if (limit < 1)
+		{
+			throw new IllegalArgumentException("Must keep at least one move, not " + limit);
+		}
+		this.limit = limit;
+
+		// Grows up to the limit, so a large limit doesn't cost
+		// anything until there are that many moves.
+		int capacity = Math.min(limit, 64);
+		equities = new int[capacity];
+		moves = new Move[capacity];
+	}
+
+	/**
+	 * The lowest equity a move needs to be kept. Anything below
+	 * this can be thrown away without making it into a Move.
+	 */
+	@Override
+	public int floor()
+	{
+		return size < limit ? Integer.MIN_VALUE : equities[0];
+	}
+
+	/**
+	 * Offers the move. A search never needs to stop early to keep
+	 * the best moves.
+	 */
+	@Override
+	public boolean accept(Move move)
+	{
+		offer(move);
+		return true;
+	}
+
+	/**
+	 * Keeps the move if it's one of the best so far.
+	 * @return Whether or not it was kept.
+	 */
+	public boolean offer(Move move)
+	{
+		if (size < limit)
+		{
+			if (size == equities.length)
+			{
+				int capacity = (int)Math.min(limit, equities.length * 2L);
+				equities = Arrays.copyOf(equities, capacity);
+				moves = Arrays.copyOf(moves, capacity);
+			}
+			siftUp(size++, move);
+			return true;
+		}
+		if (!worse(equities[0], moves[0], move.equity, move))
+		{
+			return false;
+		}
+		siftDown(0, move);
+		return true;
+	}
+
+	/**
+	 * Offers every move kept by another collector, such as one
+	 * filled by another thread.
+	 */
+	public void addAll(TopMoves other)
+	{
+		for (int k = 0; k < other.size; k++)
+		{
+			offer(other.moves[k]);
+		}
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * The moves kept, best first.
+	 */
+	public Move[] toArray()
+	{
+		Move[] sorted = Arrays.copyOf(moves, size);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * Whether move a (with equity a) is worse than move b.
+	 */
+	private static boolean worse(int equityA, Move a, int equityB, Move b)
+	{
+		return equityA != equityB ? equityA < equityB : a.compareTo(b) > 0;
+	}
+
+	private void siftUp(int k, Move move)
+	{
+		while (k > 0)
+		{
+			int parent = (k - 1) >>> 1;
+			if (!worse(move.equity, move, equities[parent], moves[parent]))
+			{
+				break;
+			}
+			equities[k] = equities[parent];
+			moves[k] = moves[parent];
+			k = parent;
+		}
+		equities[k] = move.equity;
+		moves[k] = move;
+	}
+
+	private void siftDown(int k, Move move)
+	{
+		int half = size >>> 1;
+		while (k < half)
+		{
+			int child = 2 * k + 1;
+			if (child + 1 < size &&
+				worse(equities[child + 1], moves[child + 1], equities[child], moves[child]))
+			{
+				child++;
+			}
+			if (!worse(equities[child], moves[child], move.equity, move))
+			{
+				break;
+			}
+			equities[k] = equities[child];
+			moves[k] = moves[child];
+			k = child;
+		}
+		equities[k] = move.equity;
+		moves[k] = move;
+	}
+}
@@ -1,91 +1,176 @@
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.HashMap;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Scanner;
 
-public class Trie 
+/**
+ * The dictionary, stored as a minimized DAWG. Words that end the
+ * same way share the same nodes, and every node lives in a few
+ * flat int arrays instead of being its own object. A node is just
+ * an index into those arrays.
+ */
+public class Trie extends Automaton
 {
 	private static String SOURCE_FILE_NAME 
 		= "Collins Scrabble Words (2019).txt"; 
-	
-	private Node root; 
-	
+
 	public Trie(String sourceFileName)
+	{
+		this(readWords(sourceFileName));
+	}
+
+	/**
+	 * @param words The words to put in the dictionary, in
+	 * alphabetical order.
+	 */
+	public Trie(ArrayList<String> words)
+	{
+		super(build(words), Runner.ALPHABET.length);
+	}
+
+	/**
+	 * Uses a DAWG read out of a compiled lexicon.
+	 */
+	Trie(int root, IntBuffer masks, IntBuffer firsts, IntBuffer targets)
+	{
+		super(Runner.ALPHABET.length, root, masks, firsts, targets);
+	}
+
+	private static DawgBuilder build(ArrayList<String> words)
+	{
+		DawgBuilder builder = new DawgBuilder(Runner.ALPHABET.length);
+		for (String word : words)
+		{
+			builder.add(word);
+		}
+		builder.finish();
+		return builder;
+	}
+
+	/**
+	 * Reads every word out of a word list, in alphabetical
+	 * order. Not every word list comes sorted, and the DAWG has
+	 * to be built in order.
+	 */
+	static ArrayList<String> readWords(String sourceFileName)
 	{
 		Scanner scanner = null;
 		try
 		{
-			scanner = new Scanner(new File(sourceFileName)); 
+			scanner = new Scanner(new File(sourceFileName));
 		}
 		catch (FileNotFoundException ex)
 		{
 			ex.printStackTrace();
 			System.exit(0);
 		}
-		
-		root = new Node('!', false); 
-		
+
+		ArrayList<String> words = new ArrayList<>();
 		while (scanner.hasNext())
 		{
-			add(scanner.next()); 
+			String word = scanner.next().toUpperCase();
+			if (isWord(word))
+			{
+				words.add(word);
+			}
 		}
+		scanner.close();
+		Collections.sort(words);
+		return words;
 	}
-	
-	public void add(String word)
-	{
-		traverse(root, word); 
-	}
-	
-	private void traverse(Node node, String str)
+
+	/**
+	 * Only words made entirely out of A-Z can go in the DAWG.
+	 */
+	private static boolean isWord(String word)
 	{
-		// This word exists in part already. Set this
-		// index as a possible ending area. 
-		if (str.length() == 0)
+		for (int k = 0; k < word.length(); k++)
 		{
-			node.ends = true; 
-		}
-		
-		// Word doesn't exist yet. 
-		else
-		{
-			Node next = node.get(str.charAt(0)); 
-			
-			if (next == null) // Child doesn't exist. 
+			char c = word.charAt(k);
+			if (c < 'A' || c > 'Z')
 			{
-				for (int k = 0; k < str.length()-1; k++)
-				{
-					next = new Node(str.charAt(k), false); 
-					node.add(next);
-					node = next; 
-				}
-				node.add(new Node(str.charAt(str.length()-1), true));
-			}
-			else
-			{
-				traverse(next, str.substring(1)); 
+				return false;
 			}
 		}
+		return word.length() > 0;
 	}
-	
+
 	public boolean contains(String word)
 	{
-		Node currentNode = root; 
-		for (char c : word.toCharArray())
+		int currentNode = getRoot();
+		for (int k = 0; k < word.length(); k++)
 		{
-			currentNode = currentNode.get(c); 
-			if (currentNode == null)
+			currentNode = get(currentNode, word.charAt(k));
+			if (currentNode == NONE)
 			{
-				return false; 
+				return false;
 			}
 		}
-		return currentNode.ends; 
+		return ends(currentNode);
 	}
-	
-	public Node getRoot()
+
+	/**
+	 * Looks up many words at once. Bit k of the answer is set if
+	 * the k'th word is in the dictionary.
+	 *
+	 * The path walked for each word is kept, and the next word
+	 * starts from wherever it leaves the last one's, so letters
+	 * the two start with are only walked once. The words can come
+	 * in any order, but the fewer letters they share with the word
+	 * before, the less that saves: sorted words are the fastest.
+	 */
+	public BitSet containsAll(Iterable<? extends CharSequence> words)
 	{
-		return root; 
+		BitSet found = new BitSet();
+
+		// path[i] is the node after the first i letters of the
+		// last word, for i up to depth (as far as it got).
+		int[] path = new int[Layout.MAX_SIZE + 1];
+		path[0] = getRoot();
+		CharSequence last = "";
+		int depth = 0;
+
+		int index = 0;
+		for (CharSequence word : words)
+		{
+			int length = word.length();
+			int shared = 0;
+			int most = Math.min(depth, Math.min(length, last.length()));
+			while (shared < most && word.charAt(shared) == last.charAt(shared))
+			{
+				shared++;
+			}
+
+			if (length >= path.length)
+			{
+				path = Arrays.copyOf(path, length + 1);
+			}
+			depth = shared;
+			while (depth < length)
+			{
+				int next = get(path[depth], word.charAt(depth));
+				if (next == NONE)
+				{
+					break;
+				}
+				path[++depth] = next;
+			}
+			if (depth == length && ends(path[depth]))
+			{
+				found.set(index);
+			}
+
+			last = word;
+			index++;
+		}
+		SearchMetrics.get().addLookups(index);
+		return found;
 	}
-	
+
 	private void checkTrie(String fileName)
 	{
 		Scanner scanner = null; 
@@ -99,10 +184,18 @@ public class Trie
 			System.exit(0);
 		}
 		
+		ArrayList<String> words = new ArrayList<>(); 
 		while (scanner.hasNext())
 		{
-			String word = scanner.next(); 
-			if (!contains(word))
+			words.add(scanner.next()); 
+		}
+		scanner.close(); 
+		
+		BitSet found = containsAll(words); 
+		for (int k = 0; k < words.size(); k++)
+		{
+			String word = words.get(k); 
+			if (!found.get(k))
 			{
 				System.out.println(word);
 			}
@@ -113,41 +206,12 @@ public class Trie
 		}
 	}
 	
-	public static void main(String[] args) 
+	public static void main(String[] args)
 	{
 		System.out.println("Started");
-		Trie trie = new Trie(SOURCE_FILE_NAME); 
-		trie.checkTrie(SOURCE_FILE_NAME); 
+		Trie trie = new Trie(SOURCE_FILE_NAME);
+		System.out.println("Nodes: " + trie.size());
+		trie.checkTrie(SOURCE_FILE_NAME);
 		System.out.println("Finished");
 	}
 }
-
-class Node
-{
-	char c;
-	boolean ends; 
-	HashMap<Character, Node> children; 
-	
-	Node(char c, boolean ends)
-	{
-		this.c = c; 
-		this.ends = ends; 
-		
-		children = new HashMap<>();
-	}
-	
-	void add(Node child)
-	{
-		children.put(child.c, child); 
-	}
-	
-	Node get(Character key)
-	{
-		return children.get(key); 
-	}
-	
-	public String toString()
-	{
-		return ends + ""; 
-	}
-}
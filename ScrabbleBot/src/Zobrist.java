@@ -0,0 +1,62 @@
+/**
+ * The random numbers boards and racks are hashed with (Zobrist
+ * hashing). A position's key is the XOR of the numbers for
+ * everything in it, so putting a tile down, or taking one out of a
+ * rack, only XORs one number in or out.
+ *
+ * There are far too many of them to keep in tables (every letter,
+ * blank or not, on every space of the biggest board), so each is
+ * made from what it's for when it's needed: the thing is numbered,
+ * and the number is scrambled with the SplitMix64 finalizer. That
+ * never gives two things the same number, and the numbers are as
+ * good as random for hashing.
+ */
+final class Zobrist
+{
+	/**
+	 * What kind of thing a number is for, so a tile and a rack
+	 * never share one.
+	 */
+	private static final int TILE = 0, PREMIUM = 1, RACK = 2, KINDS = 3;
+
+	private Zobrist()
+	{
+	}
+
+	/**
+	 * The number for a tile on x,y.
+	 */
+	static long tile(int x, int y, char letter, boolean blank)
+	{
+		int space = y * Layout.MAX_SIZE + x;
+		return mix(TILE, (space * 26L + (letter - 'A')) * 2 + (blank ? 1 : 0));
+	}
+
+	/**
+	 * The number for a premium square that nothing has been played
+	 * on yet.
+	 */
+	static long premium(int x, int y)
+	{
+		return mix(PREMIUM, y * Layout.MAX_SIZE + x);
+	}
+
+	/**
+	 * The number for holding more than n of tile index (see
+	 * Rack.indexOf).
+	 */
+	static long rack(int index, int n)
+	{
+		return mix(RACK, (long)index << 32 | n);
+	}
+
+	private static long mix(int kind, long thing)
+	{
+		// Numbered from 1: the finalizer leaves 0 as 0, and a thing
+		// whose number is 0 wouldn't change the key at all.
+		long z = (thing * KINDS + kind + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}